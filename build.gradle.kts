@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com"
@@ -37,4 +38,32 @@ dependencies {
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    // 가상 쓰레드가 carrier 쓰레드를 pin 하면 스택을 출력 (진단용, pin 여부 검증은 t020 의 JFR jdk.VirtualThreadPinned 기록)
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+}
+
+// 부하 테스트: ./gradlew loadTest -PloadTestArgs="--threads=1,16,128 --virtual --duration=20" (옵션은 LoadGenerator 참고)
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "로컬 MySQL 의 article 테이블에 혼합 부하를 주고 처리량/지연시간/connection 누수를 출력"
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass = "com.back.simpleDb.LoadGenerator"
+    args(providers.gradleProperty("loadTestArgs").getOrElse("").split(" ").filter { it.isNotBlank() })
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+}
+
+// 벤치마크: src/jmh/java, 실행은 ./gradlew jmh (일부만: ./gradlew jmh -PjmhIncludes=RowMapping)
+// 결과는 JSON 으로 저장해서 실행끼리 비교 (예: jmh.morethan.net, jmh-visualizer)
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    // -DsimpleDb.host=... 등 접속 정보를 벤치마크 JVM 으로 전달 (QueryBenchmark)
+    jvmArgsAppend.addAll(providers.systemPropertiesPrefixedBy("simpleDb.").map { properties ->
+        properties.map { (key, value) -> "-D$key=$value" }
+    })
 }
@@ -0,0 +1,126 @@
+package com.back.simpleDb;
+
+import com.back.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+실제 MySQL 왕복 벤치마크 (connection 대여 + 실행 + 변환 전체)
+
+구현 로직:
+1. 로컬 MySQL 의 별도 테이블(article_bench)에 ROWS 건을 넣어 둠
+2. 각 조회 메서드를 반복 실행 (id 는 매번 랜덤)
+3. 끝나면 테이블 삭제 + 풀 종료
+
+- 접속 정보는 시스템 프로퍼티로 변경 (기본값은 SimpleDbTest 와 같음)
+  ./gradlew jmh -PjmhIncludes=QueryBenchmark -DsimpleDb.host=... -DsimpleDb.password=...
+  (simpleDb.host, simpleDb.username, simpleDb.password, simpleDb.dbName, 벤치마크 JVM 으로 전달됨)
+- 테스트용 article 테이블은 건드리지 않음
+- 쿼리 캐시/엔티티 캐시는 켜지 않음 (매번 DB 까지 가는 비용 측정)
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class QueryBenchmark {
+    private static final int ROWS = 1_000;
+
+    private SimpleDb simpleDb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simpleDb = new SimpleDb(
+                System.getProperty("simpleDb.host", "localhost"),
+                System.getProperty("simpleDb.username", "root"),
+                System.getProperty("simpleDb.password", "root123414"),
+                System.getProperty("simpleDb.dbName", "simpleDb__test"));
+
+        simpleDb.run("DROP TABLE IF EXISTS article_bench");
+        simpleDb.run("""
+                CREATE TABLE article_bench (
+                    id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                    PRIMARY KEY(id),
+                    createdDate DATETIME NOT NULL,
+                    modifiedDate DATETIME NOT NULL,
+                    title VARCHAR(100) NOT NULL,
+                    `body` TEXT NOT NULL,
+                    isBlind BIT(1) NOT NULL DEFAULT 0
+                )
+                """);
+
+        Sql sql = simpleDb.genSql()
+                .append("INSERT INTO article_bench (createdDate, modifiedDate, title, `body`, isBlind)")
+                .append("VALUES (NOW(), NOW(), ?, ?, ?)");
+        for (int i = 1; i <= ROWS; i++) {
+            sql.addBatch("제목" + i, "내용" + i, i % 2 == 0);
+        }
+        sql.insertBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simpleDb.run("DROP TABLE IF EXISTS article_bench");
+        simpleDb.shutdown();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+    }
+
+    @Benchmark
+    public Article selectRowById() {
+        return simpleDb.genSql()
+                .append("SELECT * FROM article_bench")
+                .append("WHERE id = ?", randomId())
+                .selectRow(Article.class);
+    }
+
+    @Benchmark
+    public List<Article> selectRowsPage() {
+        return simpleDb.genSql()
+                .append("SELECT * FROM article_bench")
+                .append("WHERE id >= ?", randomId())
+                .append("ORDER BY id")
+                .append("LIMIT 20")
+                .selectRows(Article.class);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> selectRowsAsMaps() {
+        return simpleDb.genSql()
+                .append("SELECT * FROM article_bench")
+                .append("WHERE id >= ?", randomId())
+                .append("ORDER BY id")
+                .append("LIMIT 20")
+                .selectRows();
+    }
+
+    @Benchmark
+    public Long selectLongCount() {
+        return simpleDb.genSql()
+                .append("SELECT COUNT(*) FROM article_bench")
+                .append("WHERE isBlind = ?", false)
+                .selectLong();
+    }
+
+    @Benchmark
+    public String selectStringTitle() {
+        return simpleDb.genSql()
+                .append("SELECT title FROM article_bench")
+                .append("WHERE id = ?", randomId())
+                .selectString();
+    }
+}
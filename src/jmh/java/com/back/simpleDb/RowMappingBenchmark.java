@@ -0,0 +1,81 @@
+package com.back.simpleDb;
+
+import com.back.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ResultSet → 결과 객체 변환 벤치마크 (StubResultSet 사용, DB 접속 없음)
+
+- article 테이블과 같은 컬럼 구성의 행 rowCount 개를 한 번에 변환
+- toMaps: selectRows() 경로 (RowSchema + resultSetToMap)
+- toBeans: selectRows(Article.class) 경로 (BeanMapper.rowMapper)
+- toColumnar: selectColumnar() 경로
+- 스칼라 조회(selectLong 등)는 변환보다 DB 왕복이 대부분이라 QueryBenchmark 에서 측정
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowMappingBenchmark {
+    private static final String[] LABELS = {"id", "createdDate", "modifiedDate", "title", "body", "isBlind"};
+    private static final int[] TYPES = {Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR,
+            Types.LONGVARCHAR, Types.BIT};
+
+    @Param({"1", "100", "1000"})
+    int rowCount;
+
+    private StubResultSet rs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 12, 0);
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{(long) i + 1, now, now, "제목" + i, "내용" + i, i % 2 == 0};
+        }
+        rs = new StubResultSet(LABELS, TYPES, rows);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toMaps() throws SQLException {
+        rs.beforeFirst();
+        RowSchema schema = RowSchema.of(rs);
+        List<Map<String, Object>> result = new ArrayList<>();
+        while (rs.next()) {
+            result.add(Sql.resultSetToMap(rs, schema));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Article> toBeans() throws SQLException {
+        rs.beforeFirst();
+        Sql.RowMapper<Article> mapper = BeanMapper.of(Article.class).rowMapper(rs);
+        List<Article> result = new ArrayList<>();
+        while (rs.next()) {
+            result.add(mapper.map(rs));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ColumnarResult toColumnar() throws SQLException {
+        rs.beforeFirst();
+        return ColumnarResult.read(rs);
+    }
+}
@@ -0,0 +1,63 @@
+package com.back.simpleDb;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+SQL 빌더 벤치마크 (DB 접속 없음)
+
+- genSql() + append() 체인: 테스트 코드에서 가장 흔한 조회/수정 문장 조립 비용
+- appendIn(): ? 확장 + 파라미터 추가, 목록 크기별
+- 만든 Sql 을 반환해서 JIT 가 조립 과정을 없애지 못하게 함
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqlBuilderBenchmark {
+    @Param({"3", "50", "500"})
+    int inSize;
+
+    private SimpleDb simpleDb;
+    private Object[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 생성자는 접속하지 않음 (connection 은 첫 실행 때 생성)
+        simpleDb = new SimpleDb("localhost", "root", "root123414", "simpleDb__test");
+        ids = LongStream.rangeClosed(1, inSize).boxed().toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simpleDb.shutdown();
+    }
+
+    @Benchmark
+    public Sql appendChain() {
+        return simpleDb.genSql()
+                .append("UPDATE article")
+                .append("SET title = ?", "새 제목")
+                .append(", body = ?", "새 내용")
+                .append(", modifiedDate = NOW()")
+                .append("WHERE id = ?", 1L);
+    }
+
+    @Benchmark
+    public Sql appendIn() {
+        return simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .appendIn("WHERE id IN (?)", ids);
+    }
+}
@@ -0,0 +1,1148 @@
+package com.back.simpleDb;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Map;
+
+/*
+벤치마크용 메모리 ResultSet (JDBC 드라이버 없이 변환 비용만 측정)
+
+구현 로직:
+1. 컬럼 라벨, java.sql.Types 타입, 행 데이터(Object[][])를 받아 보관
+2. next() 는 커서만 옮기고, getXxx() 는 배열 값을 꺼내 변환
+3. getMetaData() 는 자기 자신 (ResultSetMetaData 도 구현)
+4. beforeFirst() 로 커서를 되돌려 같은 객체를 반복 사용
+
+- SimpleDb 가 실제로 부르는 getter 만 구현, 나머지는 SQLFeatureNotSupportedException
+- 드라이버의 바이트 → 값 디코딩 비용은 포함되지 않음 (그 부분은 QueryBenchmark 에서 측정)
+*/
+@SuppressWarnings("deprecation")
+final class StubResultSet implements ResultSet, ResultSetMetaData {
+    private final String[] labels;
+    private final int[] types;
+    private final Object[][] rows;
+
+    private int cursor = -1;
+    private boolean lastWasNull;
+    private boolean closed;
+
+    StubResultSet(String[] labels, int[] types, Object[][] rows) {
+        this.labels = labels;
+        this.types = types;
+        this.rows = rows;
+    }
+
+    @Override
+    public boolean next() {
+        if (cursor < rows.length) {
+            cursor++;
+        }
+        return cursor < rows.length;
+    }
+
+    @Override
+    public void beforeFirst() {
+        cursor = -1;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastWasNull;
+    }
+
+    private Object value(int column) throws SQLException {
+        if (cursor < 0 || cursor >= rows.length) {
+            throw new SQLException("현재 행이 없습니다: " + cursor);
+        }
+        Object value = rows[cursor][column - 1];
+        lastWasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Object getObject(int column) throws SQLException {
+        return value(column);
+    }
+
+    @Override
+    public <T> T getObject(int column, Class<T> type) throws SQLException {
+        Object value = value(column);
+        if (value == null) {
+            return null;
+        }
+        if (type == LocalDateTime.class && value instanceof Timestamp timestamp) {
+            return type.cast(timestamp.toLocalDateTime());
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public String getString(int column) throws SQLException {
+        Object value = value(column);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public boolean getBoolean(int column) throws SQLException {
+        Object value = value(column);
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value instanceof Number number && number.longValue() != 0;
+    }
+
+    @Override
+    public int getInt(int column) throws SQLException {
+        return (int) getLong(column);
+    }
+
+    @Override
+    public long getLong(int column) throws SQLException {
+        Object value = value(column);
+        if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    @Override
+    public double getDouble(int column) throws SQLException {
+        Object value = value(column);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public int findColumn(String label) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("컬럼이 없습니다: " + label);
+    }
+
+    @Override
+    public String getString(String label) throws SQLException {
+        return getString(findColumn(label));
+    }
+
+    @Override
+    public long getLong(String label) throws SQLException {
+        return getLong(findColumn(label));
+    }
+
+    @Override
+    public Object getObject(String label) throws SQLException {
+        return getObject(findColumn(label));
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return this;
+    }
+
+    // ResultSetMetaData
+
+    @Override
+    public int getColumnCount() {
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public int getColumnType(int column) {
+        return types[column - 1];
+    }
+
+    @Override
+    public int getPrecision(int column) {
+        return types[column - 1] == Types.BIT ? 1 : 0;
+    }
+
+    @Override
+    public int getScale(int column) {
+        return 0;
+    }
+
+    @Override
+    public int isNullable(int column) {
+        return columnNullableUnknown;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("unwrap 불가: " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private static SQLFeatureNotSupportedException unsupported() {
+        return new SQLFeatureNotSupportedException("StubResultSet 에서 지원하지 않는 메서드");
+    }
+
+    // 이하 사용하지 않는 메서드
+
+    @Override
+    public byte getByte(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public short getShort(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public float getFloat(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int a0, int a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public byte[] getBytes(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Date getDate(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Time getTime(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Timestamp getTimestamp(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public InputStream getAsciiStream(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public InputStream getBinaryStream(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean getBoolean(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public byte getByte(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public short getShort(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getInt(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public float getFloat(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public double getDouble(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String a0, int a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public byte[] getBytes(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Date getDate(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Time getTime(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Timestamp getTimestamp(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public InputStream getAsciiStream(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public InputStream getBinaryStream(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Reader getCharacterStream(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Reader getCharacterStream(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean absolute(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean relative(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void setFetchDirection(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void setFetchSize(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNull(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBoolean(int a0, boolean a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateByte(int a0, byte a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateShort(int a0, short a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateInt(int a0, int a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateLong(int a0, long a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateFloat(int a0, float a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateDouble(int a0, double a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBigDecimal(int a0, BigDecimal a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateString(int a0, String a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBytes(int a0, byte[] a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateDate(int a0, Date a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateTime(int a0, Time a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateTimestamp(int a0, Timestamp a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(int a0, InputStream a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(int a0, InputStream a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(int a0, Reader a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateObject(int a0, Object a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateObject(int a0, Object a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNull(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBoolean(String a0, boolean a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateByte(String a0, byte a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateShort(String a0, short a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateInt(String a0, int a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateLong(String a0, long a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateFloat(String a0, float a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateDouble(String a0, double a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBigDecimal(String a0, BigDecimal a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateString(String a0, String a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBytes(String a0, byte[] a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateDate(String a0, Date a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateTime(String a0, Time a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateTimestamp(String a0, Timestamp a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(String a0, InputStream a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(String a0, InputStream a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(String a0, Reader a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateObject(String a0, Object a1, int a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateObject(String a0, Object a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Object getObject(int a0, Map<String, Class<?>> a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Ref getRef(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Blob getBlob(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Clob getClob(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Array getArray(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Object getObject(String a0, Map<String, Class<?>> a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Ref getRef(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Blob getBlob(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Clob getClob(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Array getArray(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Date getDate(int a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Date getDate(String a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Time getTime(int a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Time getTime(String a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Timestamp getTimestamp(int a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Timestamp getTimestamp(String a0, Calendar a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public URL getURL(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public URL getURL(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateRef(int a0, Ref a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateRef(String a0, Ref a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(int a0, Blob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(String a0, Blob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(int a0, Clob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(String a0, Clob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateArray(int a0, Array a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateArray(String a0, Array a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public RowId getRowId(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public RowId getRowId(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateRowId(int a0, RowId a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateRowId(String a0, RowId a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNString(int a0, String a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNString(String a0, String a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(int a0, NClob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(String a0, NClob a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public NClob getNClob(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public NClob getNClob(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public SQLXML getSQLXML(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public SQLXML getSQLXML(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateSQLXML(int a0, SQLXML a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateSQLXML(String a0, SQLXML a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getNString(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getNString(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Reader getNCharacterStream(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public Reader getNCharacterStream(String a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNCharacterStream(int a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNCharacterStream(String a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(int a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(int a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(int a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(String a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(String a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(String a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(int a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(String a0, InputStream a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(int a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(String a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(int a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(String a0, Reader a1, long a2) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNCharacterStream(int a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNCharacterStream(String a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(int a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(int a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(int a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateAsciiStream(String a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBinaryStream(String a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateCharacterStream(String a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(int a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateBlob(String a0, InputStream a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(int a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateClob(String a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(int a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateNClob(String a0, Reader a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public <T> T getObject(String a0, Class<T> a1) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isAutoIncrement(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isCaseSensitive(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isSearchable(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isCurrency(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isSigned(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public int getColumnDisplaySize(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getSchemaName(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getTableName(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getCatalogName(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getColumnTypeName(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isReadOnly(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isWritable(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int a0) throws SQLException {
+        throw unsupported();
+    }
+
+    @Override
+    public String getColumnClassName(int a0) throws SQLException {
+        throw unsupported();
+    }
+}
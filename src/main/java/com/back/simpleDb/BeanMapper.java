@@ -0,0 +1,335 @@
+package com.back.simpleDb;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ResultSet 행 → 객체 변환기 (클래스당 한 번만 만들어 재사용)
+
+구현 로직:
+1. 클래스를 처음 쓸 때 프로퍼티(필드/setter/record 컴포넌트)를 분석해 MethodHandle 로 준비
+2. 결과 집합마다 컬럼 라벨 → 프로퍼티를 한 번 연결 (컬럼별 typed getter + setter)
+3. 행마다 rs.getLong()/getString() 등으로 바로 읽어 setter 호출 (중간 Map, Jackson 없음)
+
+- 프로퍼티 이름은 @JsonProperty 값 우선, 없으면 필드명 (예: Article.isBlind)
+- setter 우선, 없으면 필드에 직접 대입 / record 는 canonical 생성자 사용
+- 매칭되지 않는 컬럼은 무시, 값이 없는 primitive 프로퍼티는 0/false
+*/
+final class BeanMapper<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<BeanMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected BeanMapper<?> computeValue(Class<?> type) {
+            return new BeanMapper<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    // record 면 (Object[])Object, 아니면 ()Object
+    private final MethodHandle constructor;
+    private final Map<String, Property> properties = new HashMap<>();
+    // record 생성자 인자 기본값 (컬럼이 없는 컴포넌트용)
+    private final Object[] defaultArguments;
+    // 복사용 필드 getter/setter 쌍 (bean 만, 엔티티 캐시에서 사용)
+    private final List<MethodHandle[]> fieldCopiers = new ArrayList<>();
+    // 프로퍼티 이름 → 값 getter (샤드 병합 정렬에서 사용)
+    private final Map<String, MethodHandle> getters = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    static <T> BeanMapper<T> of(Class<T> type) {
+        return (BeanMapper<T>) MAPPERS.get(type);
+    }
+
+    private BeanMapper(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] paramTypes = new Class<?>[components.length];
+                this.defaultArguments = new Object[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    RecordComponent component = components[i];
+                    Property property = new Property(component.getType(), null, i);
+                    paramTypes[i] = component.getType();
+                    defaultArguments[i] = property.reader.defaultValue();
+                    // @JsonProperty 는 record 컴포넌트가 아니라 생성된 private 필드에 전파됨
+                    JsonProperty annotation = type.getDeclaredField(component.getName()).getAnnotation(JsonProperty.class);
+                    properties.put(propertyName(component.getName(), annotation), property);
+                    getters.put(propertyName(component.getName(), annotation), lookup.unreflect(component.getAccessor())
+                            .asType(MethodType.methodType(Object.class, Object.class)));
+                }
+                this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class, paramTypes))
+                        .asSpreader(Object[].class, components.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } else {
+                this.defaultArguments = null;
+                this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+                collectBeanProperties(lookup);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(type.getName() + " 매핑 준비 실패 (기본 생성자/record 필요)", e);
+        }
+    }
+
+    private void collectBeanProperties(MethodHandles.Lookup lookup) throws IllegalAccessException {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                    continue;
+                }
+                // 복사는 setter 를 거치지 않고 필드 값을 그대로 옮김
+                MethodHandle getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+                fieldCopiers.add(new MethodHandle[]{
+                        getter,
+                        lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class))
+                });
+
+                String name = propertyName(field.getName(), field.getAnnotation(JsonProperty.class));
+                if (properties.containsKey(name)) {
+                    continue;  // 하위 클래스 필드 우선
+                }
+                getters.put(name, getter);
+                MethodHandle setter = findSetter(lookup, field);
+                if (setter == null) {
+                    setter = lookup.unreflectSetter(field);
+                }
+                properties.put(name, new Property(field.getType(),
+                        setter.asType(MethodType.methodType(void.class, Object.class, Object.class)), -1));
+            }
+        }
+
+        // 필드 없이 @JsonProperty 가 붙은 setter
+        for (Method method : type.getMethods()) {
+            JsonProperty annotation = method.getAnnotation(JsonProperty.class);
+            if (annotation == null || method.getParameterCount() != 1 || annotation.value().isEmpty()) {
+                continue;
+            }
+            properties.computeIfAbsent(annotation.value(), name -> {
+                try {
+                    return new Property(method.getParameterTypes()[0],
+                            lookup.unreflect(method).asType(MethodType.methodType(void.class, Object.class, Object.class)), -1);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalArgumentException(method + " 접근 불가", e);
+                }
+            });
+        }
+    }
+
+    // setXxx, boolean isXxx 필드는 lombok 규칙대로 setXxx(isXxx 의 Xxx)도 확인
+    private MethodHandle findSetter(MethodHandles.Lookup lookup, Field field) {
+        String name = field.getName();
+        String[] candidates = (field.getType() == boolean.class && name.startsWith("is") && name.length() > 2
+                && Character.isUpperCase(name.charAt(2)))
+                ? new String[]{"set" + name.substring(2), "set" + capitalize(name)}
+                : new String[]{"set" + capitalize(name)};
+
+        for (String candidate : candidates) {
+            try {
+                return lookup.findVirtual(type, candidate, MethodType.methodType(void.class, field.getType()));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private static String propertyName(String name, JsonProperty annotation) {
+        return annotation != null && !annotation.value().isEmpty() ? annotation.value() : name;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    // 결과 집합의 컬럼 구성에 맞춰 행 변환기 생성 (결과 집합당 한 번)
+    Sql.RowMapper<T> rowMapper(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        int[] columns = new int[columnCount];
+        Property[] targets = new Property[columnCount];
+        int bound = 0;
+        for (int i = 1; i <= columnCount; i++) {
+            Property property = properties.get(metaData.getColumnLabel(i));
+            if (property != null) {
+                columns[bound] = i;
+                targets[bound] = property;
+                bound++;
+            }
+        }
+
+        int bindingCount = bound;
+        if (type.isRecord()) {
+            return row -> {
+                Object[] args = defaultArguments.clone();
+                for (int b = 0; b < bindingCount; b++) {
+                    args[targets[b].componentIndex] = targets[b].reader.read(row, columns[b]);
+                }
+                return newInstance(args);
+            };
+        }
+        return row -> {
+            T obj = newInstance();
+            for (int b = 0; b < bindingCount; b++) {
+                targets[b].set(obj, targets[b].reader.read(row, columns[b]));
+            }
+            return obj;
+        };
+    }
+
+    // 값을 읽을 수 있는 프로퍼티 이름들 (샤드 병합 ORDER BY 확인용)
+    Set<String> propertyNames() {
+        return getters.keySet();
+    }
+
+    // 프로퍼티 값 읽기 (이름이 정확히 같은 것 우선, 없으면 대소문자 무시), 없는 프로퍼티면 예외
+    Object get(T bean, String name) {
+        MethodHandle getter = getters.get(name);
+        if (getter == null) {
+            getter = getters.entrySet().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(type.getName() + " 에 프로퍼티가 없습니다: " + name));
+        }
+        try {
+            return (Object) getter.invokeExact((Object) bean);
+        } catch (Throwable e) {
+            throw new RuntimeException(type.getName() + "." + name + " 읽기 실패", e);
+        }
+    }
+
+    // 얕은 복사본 (record 는 불변이므로 그대로 반환)
+    T copy(T source) {
+        if (source == null || type.isRecord()) {
+            return source;
+        }
+        T target = newInstance();
+        try {
+            for (MethodHandle[] copier : fieldCopiers) {
+                copier[1].invokeExact((Object) target, (Object) copier[0].invokeExact((Object) source));
+            }
+        } catch (Throwable e) {
+            throw new RuntimeException(type.getName() + " 복사 실패", e);
+        }
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException(type.getName() + " 생성 실패", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance(Object[] args) {
+        try {
+            return (T) (Object) constructor.invokeExact(args);
+        } catch (Throwable e) {
+            throw new RuntimeException(type.getName() + " 생성 실패", e);
+        }
+    }
+
+    // 프로퍼티 하나: 타입별 컬럼 reader + setter(bean) 또는 생성자 인자 위치(record)
+    private static final class Property {
+        private final ColumnReader reader;
+        private final MethodHandle setter;
+        private final int componentIndex;
+
+        Property(Class<?> type, MethodHandle setter, int componentIndex) {
+            this.reader = ColumnReader.of(type);
+            this.setter = setter;
+            this.componentIndex = componentIndex;
+        }
+
+        void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw new RuntimeException("프로퍼티 설정 실패", e);
+            }
+        }
+    }
+
+    // 대상 타입에 맞는 typed getter 로 컬럼 읽기 (primitive 는 null 대신 기본값)
+    @FunctionalInterface
+    interface ColumnReader {
+        Object read(ResultSet rs, int column) throws SQLException;
+
+        default Object defaultValue() {
+            return null;
+        }
+
+        static ColumnReader of(Class<?> type) {
+            if (type == long.class) return primitive((rs, i) -> rs.getLong(i), 0L);
+            if (type == int.class) return primitive((rs, i) -> rs.getInt(i), 0);
+            if (type == boolean.class) return primitive((rs, i) -> rs.getBoolean(i), false);
+            if (type == double.class) return primitive((rs, i) -> rs.getDouble(i), 0.0);
+            if (type == float.class) return primitive((rs, i) -> rs.getFloat(i), 0.0f);
+            if (type == short.class) return primitive((rs, i) -> rs.getShort(i), (short) 0);
+            if (type == byte.class) return primitive((rs, i) -> rs.getByte(i), (byte) 0);
+            if (type == Long.class) return nullable((rs, i) -> rs.getLong(i));
+            if (type == Integer.class) return nullable((rs, i) -> rs.getInt(i));
+            if (type == Boolean.class) return nullable((rs, i) -> rs.getBoolean(i));
+            if (type == Double.class) return nullable((rs, i) -> rs.getDouble(i));
+            if (type == String.class) return (rs, i) -> rs.getString(i);
+            if (type == BigDecimal.class) return (rs, i) -> rs.getBigDecimal(i);
+            if (type == byte[].class) return (rs, i) -> rs.getBytes(i);
+            if (type.isEnum()) return enumReader(type);
+            if (type == Object.class) return (rs, i) -> rs.getObject(i);
+            // LocalDateTime, LocalDate 등은 드라이버 변환 사용
+            return (rs, i) -> rs.getObject(i, type);
+        }
+
+        private static ColumnReader primitive(ColumnReader getter, Object defaultValue) {
+            return new ColumnReader() {
+                @Override
+                public Object read(ResultSet rs, int column) throws SQLException {
+                    return getter.read(rs, column);
+                }
+
+                @Override
+                public Object defaultValue() {
+                    return defaultValue;
+                }
+            };
+        }
+
+        private static ColumnReader nullable(ColumnReader getter) {
+            return (rs, i) -> {
+                Object value = getter.read(rs, i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static ColumnReader enumReader(Class<?> type) {
+            return (rs, i) -> {
+                String value = rs.getString(i);
+                return value == null ? null : Enum.valueOf((Class) type, value);
+            };
+        }
+    }
+}
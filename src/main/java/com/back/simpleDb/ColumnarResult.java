@@ -0,0 +1,404 @@
+package com.back.simpleDb;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+컬럼 단위로 저장한 조회 결과 (집계/리포트용)
+
+구현 로직:
+1. 결과 집합의 컬럼 타입을 보고 컬럼마다 저장 방식을 정함
+   - 정수(BIGINT/INT/...) → long[]
+   - 실수(DOUBLE/FLOAT) → double[]
+   - BIT(1)/BOOLEAN → boolean[]
+   - DATETIME → long[] (epoch millis, DATETIME 은 타임존이 없으므로 UTC 기준)
+   - 문자열 → 사전 인코딩 (int[] 코드 + 중복 없는 문자열 목록)
+   - 그 외 → Object[]
+2. 행을 읽으면서 컬럼별 배열에 값 추가, NULL 은 컬럼별 BitSet 에 표시
+3. 다 읽으면 배열을 행 개수에 맞게 잘라서 보관
+
+- 같은 컬럼 값이 연속된 배열에 있어서 Java 에서 합계/필터할 때 캐시 효율이 좋음
+- 반복되는 제목 같은 문자열은 사전에 한 번만 저장
+- row(i) 로 행 단위 접근도 가능 (복사 없는 뷰)
+*/
+public class ColumnarResult {
+    public enum ColumnType { LONG, DOUBLE, BOOLEAN, DATETIME, STRING, OBJECT }
+
+    private final String[] labels;
+    private final Map<String, Integer> indexByLabel;
+    private final Column[] columns;
+    private final int rowCount;
+
+    private ColumnarResult(String[] labels, Column[] columns, int rowCount) {
+        this.labels = labels;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.indexByLabel = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            indexByLabel.putIfAbsent(labels[i], i);
+        }
+    }
+
+    static ColumnarResult read(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        Column[] columns = new Column[columnCount];
+
+        for (int i = 1; i <= columnCount; i++) {
+            labels[i - 1] = metaData.getColumnLabel(i);
+            columns[i - 1] = Column.of(columnType(metaData, i));
+        }
+
+        int row = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                columns[i].append(rs, i + 1, row);
+            }
+            row++;
+        }
+
+        for (Column column : columns) {
+            column.trim(row);
+        }
+        return new ColumnarResult(labels, columns, row);
+    }
+
+    private static ColumnType columnType(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> ColumnType.LONG;
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> ColumnType.DOUBLE;
+            case Types.BOOLEAN -> ColumnType.BOOLEAN;
+            case Types.BIT -> metaData.getPrecision(column) <= 1 ? ColumnType.BOOLEAN : ColumnType.OBJECT;
+            case Types.TIMESTAMP -> ColumnType.DATETIME;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR,
+                 Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> ColumnType.STRING;
+            default -> ColumnType.OBJECT;
+        };
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public String label(int column) {
+        return labels[column];
+    }
+
+    public ColumnType type(String label) {
+        return columns[indexOf(label)].type;
+    }
+
+    public int indexOf(String label) {
+        Integer index = indexByLabel.get(label);
+        if (index == null) {
+            throw new IllegalArgumentException("존재하지 않는 컬럼: " + label);
+        }
+        return index;
+    }
+
+    // NULL 인 행 번호가 켜진 BitSet (읽기 전용으로 사용할 것)
+    public BitSet nulls(String label) {
+        return columns[indexOf(label)].nulls;
+    }
+
+    public boolean isNull(String label, int row) {
+        return columns[indexOf(label)].nulls.get(row);
+    }
+
+    // 정수 컬럼 값 배열 (NULL 자리는 0)
+    public long[] longs(String label) {
+        return column(label, ColumnType.LONG, LongColumn.class).values;
+    }
+
+    // 실수 컬럼 값 배열 (NULL 자리는 0.0)
+    public double[] doubles(String label) {
+        return column(label, ColumnType.DOUBLE, DoubleColumn.class).values;
+    }
+
+    // BIT(1)/BOOLEAN 컬럼 값 배열 (NULL 자리는 false)
+    public boolean[] booleans(String label) {
+        return column(label, ColumnType.BOOLEAN, BooleanColumn.class).values;
+    }
+
+    // DATETIME 컬럼 epoch millis 배열 (UTC 기준, NULL 자리는 0)
+    public long[] epochMillis(String label) {
+        return column(label, ColumnType.DATETIME, LongColumn.class).values;
+    }
+
+    // 문자열 컬럼 사전 코드 배열 (dictionary(label).get(code) 로 원래 문자열, NULL 자리는 -1)
+    public int[] codes(String label) {
+        return column(label, ColumnType.STRING, StringColumn.class).codes;
+    }
+
+    public List<String> dictionary(String label) {
+        return Collections.unmodifiableList(column(label, ColumnType.STRING, StringColumn.class).dictionary);
+    }
+
+    // 행/컬럼 위치의 값 (원래 타입으로 변환, NULL 이면 null)
+    public Object get(int row, String label) {
+        return get(row, indexOf(label));
+    }
+
+    public Object get(int row, int column) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + rowCount);
+        }
+        Column c = columns[column];
+        return c.nulls.get(row) ? null : c.get(row);
+    }
+
+    // 행 단위 접근용 뷰
+    public Row row(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + rowCount);
+        }
+        return new Row(row);
+    }
+
+    private <C extends Column> C column(String label, ColumnType expected, Class<C> columnClass) {
+        Column column = columns[indexOf(label)];
+        if (column.type != expected) {
+            throw new IllegalArgumentException(label + " 컬럼은 " + column.type + " 타입입니다");
+        }
+        return columnClass.cast(column);
+    }
+
+    public class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        public Object get(String label) {
+            return ColumnarResult.this.get(row, label);
+        }
+
+        public boolean isNull(String label) {
+            return ColumnarResult.this.isNull(label, row);
+        }
+
+        public long getLong(String label) {
+            return longs(label)[row];
+        }
+
+        public double getDouble(String label) {
+            return doubles(label)[row];
+        }
+
+        public boolean getBoolean(String label) {
+            return booleans(label)[row];
+        }
+
+        public String getString(String label) {
+            return (String) get(label);
+        }
+
+        public LocalDateTime getDatetime(String label) {
+            return (LocalDateTime) get(label);
+        }
+    }
+
+    // 컬럼 저장소: 행 순서대로 값 추가, 다 읽으면 trim
+    private abstract static class Column {
+        final ColumnType type;
+        final BitSet nulls = new BitSet();
+
+        Column(ColumnType type) {
+            this.type = type;
+        }
+
+        static Column of(ColumnType type) {
+            return switch (type) {
+                case LONG, DATETIME -> new LongColumn(type);
+                case DOUBLE -> new DoubleColumn();
+                case BOOLEAN -> new BooleanColumn();
+                case STRING -> new StringColumn();
+                case OBJECT -> new ObjectColumn();
+            };
+        }
+
+        abstract void append(ResultSet rs, int column, int row) throws SQLException;
+
+        abstract void trim(int size);
+
+        abstract Object get(int row);
+    }
+
+    private static final class LongColumn extends Column {
+        long[] values = new long[16];
+
+        LongColumn(ColumnType type) {
+            super(type);
+        }
+
+        @Override
+        void append(ResultSet rs, int column, int row) throws SQLException {
+            values = values.length > row ? values : Arrays.copyOf(values, values.length << 1);
+            if (type == ColumnType.DATETIME) {
+                LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+                if (value == null) {
+                    nulls.set(row);
+                } else {
+                    values[row] = value.toInstant(ZoneOffset.UTC).toEpochMilli();
+                }
+                return;
+            }
+            values[row] = rs.getLong(column);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        Object get(int row) {
+            if (type == ColumnType.DATETIME) {
+                long millis = values[row];
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                        Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+            }
+            return values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        double[] values = new double[16];
+
+        DoubleColumn() {
+            super(ColumnType.DOUBLE);
+        }
+
+        @Override
+        void append(ResultSet rs, int column, int row) throws SQLException {
+            values = values.length > row ? values : Arrays.copyOf(values, values.length << 1);
+            values[row] = rs.getDouble(column);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        boolean[] values = new boolean[16];
+
+        BooleanColumn() {
+            super(ColumnType.BOOLEAN);
+        }
+
+        @Override
+        void append(ResultSet rs, int column, int row) throws SQLException {
+            values = values.length > row ? values : Arrays.copyOf(values, values.length << 1);
+            values[row] = rs.getBoolean(column);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        int[] codes = new int[16];
+        final List<String> dictionary = new ArrayList<>();
+        final Map<String, Integer> codeByValue = new HashMap<>();
+
+        StringColumn() {
+            super(ColumnType.STRING);
+        }
+
+        @Override
+        void append(ResultSet rs, int column, int row) throws SQLException {
+            codes = codes.length > row ? codes : Arrays.copyOf(codes, codes.length << 1);
+            String value = rs.getString(column);
+            if (value == null) {
+                nulls.set(row);
+                codes[row] = -1;
+                return;
+            }
+            Integer code = codeByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codeByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        void trim(int size) {
+            codes = Arrays.copyOf(codes, size);
+            codeByValue.clear();  // 읽기가 끝나면 역방향 조회는 필요 없음
+        }
+
+        @Override
+        Object get(int row) {
+            return dictionary.get(codes[row]);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        Object[] values = new Object[16];
+
+        ObjectColumn() {
+            super(ColumnType.OBJECT);
+        }
+
+        @Override
+        void append(ResultSet rs, int column, int row) throws SQLException {
+            values = values.length > row ? values : Arrays.copyOf(values, values.length << 1);
+            values[row] = rs.getObject(column);
+            if (values[row] == null) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.back.simpleDb;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+selectRows() 결과 행
+
+구현 로직:
+1. 컬럼 이름/순서는 같은 결과 집합의 모든 행이 RowSchema 하나를 공유
+2. 값은 행마다 Object[] 하나에만 저장 (LinkedHashMap 처럼 행마다 Entry 객체를 만들지 않음)
+3. Map<String, Object> 계약은 그대로 유지 (컬럼 순서대로 순회, put/remove 가능)
+
+- 스키마에 없는 키를 put 하면 extra(LinkedHashMap)에 따로 저장해서 컬럼 뒤에 순회
+- 제거된 컬럼은 ABSENT 로 표시, 다시 put 하면 원래 컬럼 위치로 돌아옴
+*/
+final class CompactRow extends AbstractMap<String, Object> {
+    private static final Object ABSENT = new Object();
+
+    private final RowSchema schema;
+    private final Object[] values;
+    private int absentCount;
+    private Map<String, Object> extra;
+
+    CompactRow(RowSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length - absentCount + (extra == null ? 0 : extra.size());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            return values[slot] != ABSENT;
+        }
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            Object value = values[slot];
+            return value == ABSENT ? null : value;
+        }
+        return extra == null ? null : extra.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            Object old = values[slot];
+            values[slot] = value;
+            if (old == ABSENT) {
+                absentCount--;
+                return null;
+            }
+            return old;
+        }
+        if (extra == null) {
+            extra = new LinkedHashMap<>();
+        }
+        return extra.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            return removeSlot(slot);
+        }
+        return extra == null ? null : extra.remove(key);
+    }
+
+    private Object removeSlot(int slot) {
+        Object old = values[slot];
+        if (old == ABSENT) {
+            return null;
+        }
+        values[slot] = ABSENT;
+        absentCount++;
+        return old;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+        };
+    }
+
+    // 컬럼 슬롯을 순서대로 돈 다음 extra 를 순회
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Entry<String, Object>> extraIterator;
+
+        private int advance(int from) {
+            while (from < values.length && values[from] == ABSENT) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (extraIterator == null) {
+                if (extra == null) {
+                    return false;
+                }
+                extraIterator = extra.entrySet().iterator();
+            }
+            return extraIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next < values.length) {
+                last = next;
+                next = advance(next + 1);
+                return new SlotEntry(last);
+            }
+            last = -1;
+            return extraIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (extraIterator != null && last < 0) {
+                extraIterator.remove();
+                return;
+            }
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeSlot(last);
+            last = -1;
+        }
+    }
+
+    private class SlotEntry implements Entry<String, Object> {
+        private final int slot;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return schema.label(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            Object value = values[slot];
+            return value == ABSENT ? null : value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object old = getValue();
+            values[slot] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e
+                    && getKey().equals(e.getKey())
+                    && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
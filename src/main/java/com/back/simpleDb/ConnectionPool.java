@@ -0,0 +1,372 @@
+package com.back.simpleDb;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+크기 제한이 있는 connection 풀
+
+구현 로직:
+1. borrow(): 유휴 connection 이 있으면 꺼내고, 없으면 maxSize 까지 새로 생성
+2. maxSize 에 도달했으면 borrowTimeout 동안 반납을 기다림 (초과 시 SQLTimeoutException)
+3. release(): 트랜잭션 상태를 정리한 뒤 유휴 목록 맨 앞에 반납
+4. 백그라운드 evictor 가 idleTimeout 을 넘긴 유휴 connection 을 minIdle 까지 정리
+
+- 유휴 목록은 LIFO: 최근에 쓰인 connection 을 재사용해서 오래된 것만 유휴 상태로 남게 함
+- 오래 쉬었던 connection 은 꺼낼 때 isValid() 로 검증 (validationInterval 이내면 생략)
+- 동기화는 synchronized 대신 ReentrantLock 사용 (대기 중인 쓰레드가 블로킹되어도 문제 없도록)
+*/
+class ConnectionPool {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long EVICTION_PERIOD_MILLIS = 5_000;
+
+    private final String dbUrl;
+    private final String username;
+    private final String password;
+
+    private volatile int minIdle = 0;
+    private volatile int maxSize = 10;
+    private volatile long borrowTimeoutMillis = 30_000;
+    private volatile long idleTimeoutMillis = 600_000;
+    private volatile long validationIntervalMillis = 5_000;
+    private volatile int statementCacheSize = 64;
+
+    // 모든 connection 의 statement 캐시가 공유하는 hit/miss/eviction 카운터
+    private final StatementCache.Counters statementCacheCounters = new StatementCache.Counters();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    // lock 으로 보호되는 상태
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int totalCount;
+    private int peakCount;
+    private boolean closed;
+
+    private final ScheduledExecutorService evictor;
+
+    ConnectionPool(String dbUrl, String username, String password) {
+        this.dbUrl = dbUrl;
+        this.username = username;
+        this.password = password;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "simpleDb-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle, EVICTION_PERIOD_MILLIS, EVICTION_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    void setPoolSize(int minIdle, int maxSize) {
+        if (minIdle < 0 || maxSize < 1 || minIdle > maxSize) {
+            throw new IllegalArgumentException("잘못된 풀 크기: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+    }
+
+    void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    void setValidationIntervalMillis(long validationIntervalMillis) {
+        this.validationIntervalMillis = validationIntervalMillis;
+    }
+
+    // 이후 새로 여는 connection 부터 적용
+    void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 1) {
+            throw new IllegalArgumentException("statement 캐시 크기는 1 이상이어야 합니다: " + statementCacheSize);
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    StatementCache.Stats getStatementCacheStats() {
+        return statementCacheCounters.snapshot();
+    }
+
+    // 다른 풀의 크기/시간 설정을 그대로 적용 (replica 풀을 primary 와 같은 설정으로 만들 때)
+    void copySettingsFrom(ConnectionPool other) {
+        setPoolSize(other.minIdle, other.maxSize);
+        this.borrowTimeoutMillis = other.borrowTimeoutMillis;
+        this.idleTimeoutMillis = other.idleTimeoutMillis;
+        this.validationIntervalMillis = other.validationIntervalMillis;
+        this.statementCacheSize = other.statementCacheSize;
+    }
+
+    // connection 대여
+    PooledConnection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection conn;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("이미 종료된 커넥션 풀");
+                    }
+                    conn = idle.pollFirst();
+                    if (conn != null) {
+                        break;
+                    }
+                    if (totalCount < maxSize) {
+                        reserveSlot();
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLTimeoutException("커넥션 대기 시간 초과 (" + borrowTimeoutMillis + "ms)");
+                    }
+                    available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+            } finally {
+                lock.unlock();
+            }
+
+            // 물리 connection 생성/검증은 lock 밖에서 (네트워크 I/O 동안 다른 쓰레드를 막지 않도록)
+            if (create) {
+                return open();
+            }
+            if (isUsable(conn)) {
+                return conn;
+            }
+            destroy(conn);
+        }
+    }
+
+    // connection 반납
+    void release(PooledConnection conn) {
+        try {
+            Connection raw = conn.getConnection();
+            if (raw.isClosed()) {
+                destroy(conn);
+                return;
+            }
+            // 커밋/롤백 없이 반납된 트랜잭션은 롤백 후 AutoCommit 복구
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            destroy(conn);
+            return;
+        }
+
+        conn.touch();
+
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.offerFirst(conn);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(conn);
+    }
+
+    // 풀 종료: 유휴 connection 은 즉시, 대여 중인 connection 은 반납될 때 닫힘
+    void close() {
+        List<PooledConnection> toClose;
+
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            totalCount -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        evictor.shutdownNow();
+        toClose.forEach(PooledConnection::closeQuietly);
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    int getTotalCount() {
+        lock.lock();
+        try {
+            return totalCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 대여 중인 connection 개수
+    int getActiveCount() {
+        lock.lock();
+        try {
+            return totalCount - idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 동시에 존재했던 물리 connection 의 최대 개수
+    int getPeakCount() {
+        lock.lock();
+        try {
+            return peakCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // peak 를 지금 열려 있는 connection 수부터 다시 셈 (부하 테스트 구간별 측정용)
+    void resetPeakCount() {
+        lock.lock();
+        try {
+            peakCount = totalCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 을 잡은 상태에서 호출
+    private void reserveSlot() {
+        totalCount++;
+        peakCount = Math.max(peakCount, totalCount);
+    }
+
+    private PooledConnection open() throws SQLException {
+        JfrEvents.ConnectionOpenEvent event = new JfrEvents.ConnectionOpenEvent();
+        event.begin();
+        boolean success = false;
+        try {
+            Connection raw = DriverManager.getConnection(dbUrl, username, password);
+            raw.setAutoCommit(true);
+            PooledConnection conn = new PooledConnection(this, raw, statementCacheSize, statementCacheCounters);
+            success = true;
+            return conn;
+        } catch (SQLException | RuntimeException e) {
+            freeSlot();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.url = dbUrl;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private boolean isUsable(PooledConnection conn) {
+        try {
+            long idleNanos = System.nanoTime() - conn.getLastUsedAt();
+            if (idleNanos < TimeUnit.MILLISECONDS.toNanos(validationIntervalMillis)) {
+                return !conn.getConnection().isClosed();
+            }
+            return conn.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection conn) {
+        conn.closeQuietly();
+        freeSlot();
+    }
+
+    private void freeSlot() {
+        lock.lock();
+        try {
+            totalCount--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+    유휴 connection 정리 (evictor 쓰레드에서 주기적으로 실행)
+
+    구현 로직:
+    1. 가장 오래 쉰 connection(목록 끝)부터 idleTimeout 초과 여부 확인
+    2. minIdle 은 남겨두고 초과분만 닫음
+    3. 전체 개수가 minIdle 보다 적으면 미리 채워둠
+    */
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        long now = System.nanoTime();
+        int toCreate;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalCount > minIdle) {
+                PooledConnection conn = it.next();
+                if (now - conn.getLastUsedAt() < idleTimeoutNanos) {
+                    break;
+                }
+                it.remove();
+                totalCount--;
+                expired.add(conn);
+            }
+            toCreate = Math.max(0, minIdle - totalCount);
+            for (int i = 0; i < toCreate; i++) {
+                reserveSlot();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        expired.forEach(PooledConnection::closeQuietly);
+
+        for (int i = 0; i < toCreate; i++) {
+            try {
+                release(open());
+            } catch (SQLException e) {
+                // 다음 주기에 다시 시도 (open() 에서 슬롯은 이미 반환됨)
+                for (int j = i + 1; j < toCreate; j++) {
+                    freeSlot();
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.back.simpleDb;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+PK 기준 엔티티 캐시 (selectRow(Class) 의 WHERE id = ? 조회용)
+
+구현 로직:
+1. 키: (테이블, id) → 매핑된 객체의 복사본을 보관 (조회한 클래스가 다르면 없는 것으로 봄)
+2. selectRow(Class)/selectRows(Class) 가 "SELECT * FROM 테이블 ..." 형태면 결과 객체를 id 별로 저장
+3. "SELECT * FROM 테이블 WHERE id = ?" 조회는 DB 를 거치지 않고 캐시에서 복사본 반환
+4. UPDATE/DELETE 가 WHERE id = ? / id IN (...) 이면 그 id 만, 판단할 수 없으면 테이블 전체 제거
+
+- 락 분할: 키 해시로 세그먼트를 나누고 세그먼트마다 ReentrantLock + LRU(LinkedHashMap)
+- TinyLFU 방식 입장 정책: 세그먼트가 가득 차면 새 항목과 LRU 희생 항목의 최근 접근 빈도를 비교해
+  새 항목이 더 자주 쓰였을 때만 교체 (한 번 쓰고 마는 조회가 자주 쓰는 엔티티를 밀어내지 않음)
+- 빈도는 세그먼트별 count-min sketch(4bit 카운터 4줄)로 추정, 일정 횟수마다 절반으로 줄여 최근 빈도 반영
+- 테이블 버전: 조회 도중 쓰기로 무효화되면 오래된 결과를 저장하지 않음
+- PK 컬럼 이름은 id 로 가정
+*/
+public class EntityCache {
+    private static final int SEGMENT_COUNT = 16;
+    private static final String PRIMARY_KEY = "id";
+
+    private static final String TABLE = "`?(?:\\w+`?\\.`?)?(\\w+)`?";
+
+    // 단일 테이블 전체 컬럼 조회: SELECT * FROM article [AS a] [WHERE ...]
+    private static final Pattern SELECT_ALL = Pattern.compile("(?is)^\\s*SELECT\\s+\\*\\s+FROM\\s+" + TABLE
+            + "(?:\\s+(?:AS\\s+)?(?!WHERE\\b|ORDER\\b|LIMIT\\b)\\w+)?\\s*(?:$|;|\\bWHERE\\b|\\bORDER\\b|\\bLIMIT\\b)");
+    private static final Pattern NOT_ENTITY_QUERY = Pattern.compile("(?i)\\bJOIN\\b|\\bGROUP\\s+BY\\b|\\bUNION\\b|\\bHAVING\\b");
+
+    // PK 단건 조회: ... WHERE id = ? [LIMIT 1]
+    private static final Pattern PK_LOOKUP = Pattern.compile(
+            "(?is)\\bWHERE\\s+(?:\\w+\\.)?`?id`?\\s*=\\s*(\\?|\\d+)\\s*(?:LIMIT\\s+1\\s*)?;?\\s*$");
+
+    // 쓰기 WHERE 절의 id 조건: id = ? / id IN (?, ?) (AND 로 이어진 조건만 인정)
+    private static final Pattern ID_CONDITION = Pattern.compile(
+            "(?is)(?:^\\s*|\\bAND\\s+)(?:\\w+\\.)?`?id`?\\s*(?:=\\s*(\\?|\\d+)|IN\\s*\\(([\\s?\\d,]+)\\))");
+    private static final Pattern WHERE = Pattern.compile("(?i)\\bWHERE\\b");
+    private static final Pattern UNSAFE_WHERE = Pattern.compile("(?i)\\bOR\\b|\\bSELECT\\b");
+    private static final Pattern SETS_ID = Pattern.compile("(?is)\\bSET\\b.*?[\\s,.`]id`?\\s*=");
+    private static final Pattern UPDATE_OR_DELETE = Pattern.compile("(?i)^\\s*(?:UPDATE|DELETE)\\b");
+    private static final Pattern PLAIN_INSERT = Pattern.compile("(?i)^\\s*INSERT\\b");
+    private static final Pattern UPSERT = Pattern.compile("(?i)\\bON\\s+DUPLICATE\\s+KEY\\b");
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    // 테이블별 버전, 전체 제거는 globalVersion 으로 처리
+    private final ConcurrentHashMap<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    EntityCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries 는 1 이상이어야 합니다: " + maxEntries);
+        }
+        int capacity = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    // 엔티티로 캐시할 수 있는 조회면 테이블 이름, 아니면 null
+    static String entityTable(String sql) {
+        Matcher matcher = SELECT_ALL.matcher(sql);
+        if (!matcher.find() || NOT_ENTITY_QUERY.matcher(sql).find() || !SqlTables.isDeterministic(sql)) {
+            return null;
+        }
+        return SqlTables.normalize(matcher.group(1));
+    }
+
+    // WHERE id = ? 단건 조회면 id, 아니면 null
+    static Long primaryKey(String sql, List<Object> params) {
+        Matcher matcher = PK_LOOKUP.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        return idValue(matcher.group(1), placeholderIndex(sql, matcher.start(1)), params);
+    }
+
+    /*
+    캐시에서 복사본 조회 (없으면 null)
+
+    - 매핑된 객체는 수정 가능하므로 호출자마다 복사본을 돌려줌 (record 는 그대로)
+    - table: entityTable(sql) 로 얻은 조회 대상 테이블 (같은 id 라도 다른 테이블의 행은 돌려주지 않음)
+    - 같은 테이블/id 를 다른 클래스로 저장해 두었으면 없는 것으로 봄
+    */
+    <T> T get(Class<T> type, String table, long id) {
+        Key key = new Key(table, id);
+        Object value = segmentFor(key).get(key);
+        if (value == null || value.getClass() != type) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return BeanMapper.of(type).copy(type.cast(value));
+    }
+
+    // 테이블 버전 (두 카운터 모두 증가만 하므로 합이 같으면 그 사이 무효화가 없었음)
+    long version(String table) {
+        AtomicLong version = tableVersions.get(table);
+        return globalVersion.get() + (version == null ? 0 : version.get());
+    }
+
+    /*
+    조회 결과 객체를 id 별로 저장하면서 반환하는 행 변환기
+
+    - id 컬럼이 없는 결과면 저장하지 않음
+    - version: 조회 전에 읽은 테이블 버전, 그 사이 쓰기가 있었으면 저장하지 않음
+    */
+    <T> Sql.RowMapperFactory<T> populating(Class<T> type, String table, long version, Sql.RowMapperFactory<T> factory) {
+        return rs -> {
+            Sql.RowMapper<T> mapper = factory.create(rs);
+            int idColumn = idColumn(rs);
+            if (idColumn < 0) {
+                return mapper;
+            }
+            BeanMapper<T> beanMapper = BeanMapper.of(type);
+            return row -> {
+                T entity = mapper.map(row);
+                long id = row.getLong(idColumn);
+                if (!row.wasNull()) {
+                    Key key = new Key(table, id);
+                    segmentFor(key).put(key, beanMapper.copy(entity), version);
+                }
+                return entity;
+            };
+        };
+    }
+
+    private static int idColumn(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (PRIMARY_KEY.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+    쓰기 SQL 이 바꿀 수 있는 엔티티 계산
+
+    - INSERT: 새 행이므로 제거할 것 없음 (ON DUPLICATE KEY UPDATE 는 테이블 전체)
+    - UPDATE/DELETE 단일 테이블 + WHERE 에 id 조건: 그 id 만
+    - 그 외: 관련 테이블 전체, 테이블을 모르면 전부
+    - params 가 null 이면(배치) 파라미터로 된 id 는 알 수 없으므로 테이블 전체
+    */
+    static Eviction evictionFor(String sql, List<Object> params) {
+        Set<String> tables = SqlTables.writtenTables(sql);
+        if (tables == null) {
+            return Eviction.ALL;
+        }
+        if (tables.isEmpty() || (PLAIN_INSERT.matcher(sql).find() && !UPSERT.matcher(sql).find())) {
+            return null;
+        }
+
+        if (tables.size() == 1 && UPDATE_OR_DELETE.matcher(sql).find() && !SETS_ID.matcher(whereless(sql)).find()) {
+            long[] ids = whereIds(sql, params);
+            if (ids != null) {
+                return new Eviction(tables, ids);
+            }
+        }
+        return new Eviction(tables, null);
+    }
+
+    private static String whereless(String sql) {
+        Matcher where = WHERE.matcher(sql);
+        return where.find() ? sql.substring(0, where.start()) : sql;
+    }
+
+    private static long[] whereIds(String sql, List<Object> params) {
+        Matcher where = WHERE.matcher(sql);
+        if (!where.find()) {
+            return null;
+        }
+        int offset = where.end();
+        String condition = sql.substring(offset);
+        if (UNSAFE_WHERE.matcher(condition).find()) {
+            return null;
+        }
+
+        Matcher matcher = ID_CONDITION.matcher(condition);
+        if (!matcher.find()) {
+            return null;
+        }
+        if (matcher.group(1) != null) {
+            Long id = idValue(matcher.group(1), placeholderIndex(sql, offset + matcher.start(1)), params);
+            return id == null ? null : new long[]{id};
+        }
+
+        String[] tokens = matcher.group(2).split(",");
+        long[] ids = new long[tokens.length];
+        int index = placeholderIndex(sql, offset + matcher.start(2));
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i].trim();
+            Long id = idValue(token, index, params);
+            if (id == null) {
+                return null;
+            }
+            ids[i] = id;
+            if (token.equals("?")) {
+                index++;
+            }
+        }
+        return ids;
+    }
+
+    // position 앞에 있는 ? 개수 = 그 위치 ? 의 파라미터 인덱스
+    private static int placeholderIndex(String sql, int position) {
+        int index = 0;
+        for (int i = 0; i < position; i++) {
+            if (sql.charAt(i) == '?') {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    // 리터럴이면 그 값, ? 면 params[index] (숫자가 아니면 null)
+    private static Long idValue(String token, int index, List<Object> params) {
+        if (!token.equals("?")) {
+            try {
+                return Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (params == null || index >= params.size() || !(params.get(index) instanceof Number number)) {
+            return null;
+        }
+        return number.longValue();
+    }
+
+    // 쓰기 후 제거 (테이블 버전을 먼저 올려 진행 중인 조회가 오래된 값을 저장하지 못하게 함)
+    void evict(Eviction eviction) {
+        invalidations.increment();
+        if (eviction.tables == null) {
+            globalVersion.incrementAndGet();
+            for (Segment segment : segments) {
+                segment.clear();
+            }
+            return;
+        }
+
+        for (String table : eviction.tables) {
+            tableVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+        }
+
+        if (eviction.ids == null) {
+            for (Segment segment : segments) {
+                segment.removeTables(eviction.tables);
+            }
+            return;
+        }
+
+        for (String table : eviction.tables) {
+            for (long id : eviction.ids) {
+                Key key = new Key(table, id);
+                segmentFor(key).remove(key);
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), invalidations.sum(), size());
+    }
+
+    // 캐시 통계 스냅샷 (evictions: 용량 초과로 밀려난 수, rejections: 빈도가 낮아 입장하지 못한 수)
+    public record Stats(long hits, long misses, long evictions, long rejections, long invalidations, int size) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    // 쓰기 한 번으로 제거할 범위 (tables == null 이면 전부, ids == null 이면 테이블 전체)
+    static final class Eviction {
+        static final Eviction ALL = new Eviction(null, null);
+
+        private final Set<String> tables;
+        private final long[] ids;
+
+        private Eviction(Set<String> tables, long[] ids) {
+            this.tables = tables;
+            this.ids = ids;
+        }
+    }
+
+    private record Key(String table, long id) {
+    }
+
+    // 락 하나가 지키는 LRU + 빈도 추정기
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        Object get(Key key) {
+            lock.lock();
+            try {
+                sketch.increment(key.hashCode());
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Key key, Object value, long version) {
+            lock.lock();
+            try {
+                if (version(key.table()) != version) {
+                    return;
+                }
+                if (entries.containsKey(key) || entries.size() < capacity) {
+                    entries.put(key, value);
+                    return;
+                }
+
+                // TinyLFU: 가장 오래 안 쓰인 항목보다 자주 쓰였을 때만 교체
+                Iterator<Key> eldest = entries.keySet().iterator();
+                Key victim = eldest.next();
+                if (sketch.frequency(key.hashCode()) > sketch.frequency(victim.hashCode())) {
+                    eldest.remove();
+                    entries.put(key, value);
+                    evictions.increment();
+                } else {
+                    rejections.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Key key) {
+            lock.lock();
+            try {
+                entries.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeTables(Set<String> tables) {
+            lock.lock();
+            try {
+                entries.keySet().removeIf(key -> tables.contains(key.table()));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /*
+    count-min sketch (4bit 카운터, 해시 4개)
+
+    - long 하나에 카운터 16개를 담아 메모리를 적게 씀
+    - 증가 횟수가 sampleSize 에 도달하면 모든 카운터를 절반으로 (오래된 빈도 감쇠)
+    - 세그먼트 락 안에서만 사용하므로 동기화 없음
+    */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int size = Integer.highestOneBit(Math.max(4, capacity) - 1) << 1;
+            this.table = new long[size];
+            this.mask = size - 1;
+            this.sampleSize = 10 * Math.max(capacity, 4);
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = counterOffset(hash, i);
+                if (((table[index] >>> offset) & 0xfL) < 15) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int count = (int) ((table[indexOf(hash, i)] >>> counterOffset(hash, i)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions >>>= 1;
+        }
+
+        private long hash(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            return h ^ (h >>> 32);
+        }
+
+        private int indexOf(int hash, int i) {
+            return (int) hash(hash, i) & mask;
+        }
+
+        private int counterOffset(int hash, int i) {
+            return (int) ((hash(hash, i) >>> 40) & 0xfL) << 2;
+        }
+    }
+}
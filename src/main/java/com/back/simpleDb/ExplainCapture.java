@@ -0,0 +1,200 @@
+package com.back.simpleDb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+느린 SELECT 의 실행 계획(EXPLAIN) 자동 수집
+
+구현 로직:
+1. SELECT 실행 시간이 threshold 이상이면 템플릿(SqlMetrics.normalize) 단위로 수집 여부 판단
+2. 같은 템플릿은 intervalMillis 에 한 번만 수집 (rate limit)
+3. 별도 쓰레드에서 풀과 별개인 전용 connection 으로 "EXPLAIN " + SQL 을 같은 파라미터로 실행
+4. 결과 행마다 문제 표시
+   - type = ALL → FULL_SCAN (인덱스 없이 테이블 전체 읽음)
+   - type = index → FULL_INDEX_SCAN
+   - Extra 에 Using filesort → FILESORT, Using temporary → TEMPORARY
+5. 템플릿별 최신 결과를 보관, getFindings() 로 조회
+
+- 쿼리 쓰레드는 작업을 넘기기만 함 (대기열이 가득 차면 버림)
+- 풀 connection 을 쓰지 않으므로 EXPLAIN 이 애플리케이션 쿼리의 connection 을 빼앗지 않음
+*/
+public class ExplainCapture implements AutoCloseable {
+    private static final Pattern SELECT = Pattern.compile("(?is)^\\s*\\(?\\s*SELECT\\b");
+    private static final int QUEUE_SIZE = 64;
+
+    // 전용 connection 생성 (SimpleDb 의 접속 정보 사용)
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    public enum Issue { FULL_SCAN, FULL_INDEX_SCAN, FILESORT, TEMPORARY }
+
+    private final ConnectionFactory connectionFactory;
+    private final long thresholdNanos;
+    private final long intervalNanos;
+
+    private final ConcurrentHashMap<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Finding> findings = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    // executor 쓰레드 전용
+    private Connection connection;
+
+    ExplainCapture(ConnectionFactory connectionFactory, long thresholdMillis, long intervalMillis) {
+        if (thresholdMillis < 0 || intervalMillis < 0) {
+            throw new IllegalArgumentException("thresholdMillis, intervalMillis 는 0 이상이어야 합니다");
+        }
+        this.connectionFactory = connectionFactory;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+                Thread.ofPlatform().daemon().name("simpleDb-explain").factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /*
+    실행 1회 보고 (쿼리 쓰레드에서 호출)
+
+    - threshold 미만이거나 SELECT 가 아니면 바로 반환
+    - 같은 템플릿을 최근에 수집했으면 반환
+    */
+    void onQuery(String sql, List<Object> params, long durationNanos) {
+        if (durationNanos < thresholdNanos || executor.isShutdown() || !SELECT.matcher(sql).find()) {
+            return;
+        }
+
+        String template = SqlMetrics.normalize(sql);
+        long now = System.nanoTime();
+        Long last = lastExplainedAt.get(template);
+        if (last != null && now - last < intervalNanos) {
+            return;
+        }
+        boolean acquired = last == null
+                ? lastExplainedAt.putIfAbsent(template, now) == null
+                : lastExplainedAt.replace(template, last, now);
+        if (!acquired) {
+            return;  // 다른 쓰레드가 먼저 수집 시작
+        }
+
+        Object[] values = params.toArray();
+        try {
+            executor.execute(() -> explain(template, sql, values, durationNanos));
+        } catch (RejectedExecutionException ignored) {
+            // 종료 중
+        }
+    }
+
+    private void explain(String template, String sql, Object[] params, long durationNanos) {
+        try {
+            if (connection == null || !connection.isValid(1)) {
+                closeConnection();
+                connection = connectionFactory.open();
+            }
+
+            List<PlanRow> plan = new ArrayList<>();
+            try (PreparedStatement pstmt = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        long rows = rs.getLong("rows");  // NULL 이면 0
+                        plan.add(new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("possible_keys"),
+                                rs.getString("key"), rows, rs.getString("Extra")));
+                    }
+                }
+            }
+
+            Set<Issue> issues = EnumSet.noneOf(Issue.class);
+            for (PlanRow row : plan) {
+                issues.addAll(row.issues());
+            }
+            findings.put(template, new Finding(template, sql, durationNanos, LocalDateTime.now(),
+                    List.copyOf(plan), Collections.unmodifiableSet(issues)));
+        } catch (SQLException e) {
+            // 수집 실패는 애플리케이션에 영향을 주지 않음 (다음 주기에 다시 시도)
+            closeConnection();
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+        connection = null;
+    }
+
+    // 템플릿별 최신 수집 결과 (문제가 있는 것 먼저)
+    public List<Finding> getFindings() {
+        List<Finding> result = new ArrayList<>(findings.values());
+        result.sort((a, b) -> Boolean.compare(b.hasIssues(), a.hasIssues()));
+        return Collections.unmodifiableList(result);
+    }
+
+    public Finding getFinding(String template) {
+        return findings.get(template);
+    }
+
+    // 대기 중인 수집을 마치고 전용 connection 종료
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            // 작업 쓰레드가 끝난 뒤에만 connection 을 닫음 (사용 중인 connection 을 닫지 않도록)
+            if (executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                closeConnection();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EXPLAIN 결과 한 행
+    public record PlanRow(String table, String type, String possibleKeys, String key, long rows, String extra) {
+        public Set<Issue> issues() {
+            Set<Issue> issues = EnumSet.noneOf(Issue.class);
+            if ("ALL".equalsIgnoreCase(type)) {
+                issues.add(Issue.FULL_SCAN);
+            } else if ("index".equalsIgnoreCase(type)) {
+                issues.add(Issue.FULL_INDEX_SCAN);
+            }
+            String lowerExtra = extra == null ? "" : extra.toLowerCase(Locale.ROOT);
+            if (lowerExtra.contains("using filesort")) {
+                issues.add(Issue.FILESORT);
+            }
+            if (lowerExtra.contains("using temporary")) {
+                issues.add(Issue.TEMPORARY);
+            }
+            return issues;
+        }
+    }
+
+    // 템플릿 하나의 수집 결과 (sql/duration 은 수집을 일으킨 실행 기준)
+    public record Finding(String template, String sql, long durationNanos, LocalDateTime capturedAt,
+                          List<PlanRow> plan, Set<Issue> issues) {
+        public boolean hasIssues() {
+            return !issues.isEmpty();
+        }
+    }
+}
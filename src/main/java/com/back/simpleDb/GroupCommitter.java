@@ -0,0 +1,202 @@
+package com.back.simpleDb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+autocommit 쓰기 묶어서 커밋 (group commit)
+
+구현 로직:
+1. 쓰기 쓰레드는 작업(ConnectionCallback)을 대기열에 넣고 결과를 기다림
+2. 작업 쓰레드가 첫 작업을 받으면 windowMicros 동안 (또는 maxGroupSize 개가 될 때까지) 더 모음
+3. connection 하나에서 AutoCommit 을 끄고 모은 작업을 차례로 실행한 뒤 한 번만 커밋
+   - 각 작업의 결과(영향받은 행 수, 생성 ID)는 그 작업을 넣은 쓰레드에게 그대로 전달
+4. 실패 처리
+   - 문장 하나라도 실패하면 그룹 전체 롤백 → 각 쓰레드가 자기 작업을 따로 실행 (실패한 문장만 예외를 받음)
+   - 커밋 자체가 실패하면 반영 여부를 알 수 없으므로 다시 실행하지 않고 그룹 전체에 예외 전달
+5. 모인 작업이 하나뿐이면 묶지 않고 그 쓰레드가 바로 실행 (AutoCommit 전환 비용 없음)
+
+- 커밋(fsync) 횟수가 그룹 수로 줄어드는 대신 쓰기마다 최대 windowMicros 만큼 지연됨
+- 한 그룹의 작업들은 같은 트랜잭션이므로 잠금을 커밋까지 쥠 (window 를 길게 잡지 말 것)
+*/
+public class GroupCommitter implements AutoCloseable {
+    // 그룹으로 실행하지 않았으니 호출한 쓰레드가 직접 실행하라는 표시
+    private static final Object RUN_ALONE = new Object();
+
+    private final ConnectionPool pool;
+    private final long windowNanos;
+    private final int maxGroupSize;
+
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder groupedStatements = new LongAdder();
+    private final LongAdder singles = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    GroupCommitter(ConnectionPool pool, long windowMicros, int maxGroupSize) {
+        if (windowMicros < 0) {
+            throw new IllegalArgumentException("windowMicros 는 0 이상이어야 합니다: " + windowMicros);
+        }
+        if (maxGroupSize < 2) {
+            throw new IllegalArgumentException("maxGroupSize 는 2 이상이어야 합니다: " + maxGroupSize);
+        }
+        this.pool = pool;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxGroupSize = maxGroupSize;
+        this.worker = Thread.ofPlatform().daemon().name("simpleDb-group-commit").start(this::run);
+    }
+
+    // 작업을 그룹에 넣고 커밋될 때까지 대기, 결과는 이 작업의 결과
+    @SuppressWarnings("unchecked")
+    <T> T execute(SimpleDb.ConnectionCallback<T> callback) throws SQLException {
+        Request request = new Request(callback);
+        queue.add(request);
+        // close() 가 대기열을 비운 뒤에 들어간 작업은 직접 실행
+        if (closed && queue.remove(request)) {
+            return executeAlone(callback);
+        }
+
+        Object result;
+        try {
+            result = request.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return result == RUN_ALONE ? executeAlone(callback) : (T) result;
+    }
+
+    private <T> T executeAlone(SimpleDb.ConnectionCallback<T> callback) throws SQLException {
+        PooledConnection conn = pool.borrow();
+        try {
+            return callback.doInConnection(conn);
+        } finally {
+            pool.release(conn);
+        }
+    }
+
+    // 작업 쓰레드: 첫 작업 → window 동안 더 모음 → 그룹 실행
+    private void run() {
+        List<Request> group = new ArrayList<>(maxGroupSize);
+        try {
+            while (!closed) {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxGroupSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commitGroup(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            // close()
+        } finally {
+            // 실행하지 못한 작업은 각자 실행
+            group.forEach(request -> request.result.complete(RUN_ALONE));
+        }
+    }
+
+    private void commitGroup(List<Request> group) {
+        if (group.size() == 1) {
+            singles.increment();
+            group.get(0).result.complete(RUN_ALONE);
+            return;
+        }
+
+        Object[] results = new Object[group.size()];
+        SQLException commitFailure = null;
+        boolean committed = false;
+
+        PooledConnection conn = null;
+        try {
+            conn = pool.borrow();
+            Connection raw = conn.getConnection();
+            raw.setAutoCommit(false);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = group.get(i).callback.doInConnection(conn);
+            }
+            try {
+                raw.commit();
+                committed = true;
+            } catch (SQLException e) {
+                commitFailure = e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            // 대여/실행 실패: 롤백 (AutoCommit 이 꺼진 채 반납되면 풀이 롤백)
+        } finally {
+            // AutoCommit 복구는 풀에서 처리
+            if (conn != null) {
+                pool.release(conn);
+            }
+        }
+
+        if (committed) {
+            groups.increment();
+            groupedStatements.add(results.length);
+            for (int i = 0; i < results.length; i++) {
+                group.get(i).result.complete(results[i]);
+            }
+        } else if (commitFailure != null) {
+            for (Request request : group) {
+                request.result.completeExceptionally(commitFailure);
+            }
+        } else {
+            fallbacks.add(group.size());
+            group.forEach(request -> request.result.complete(RUN_ALONE));
+        }
+    }
+
+    // 통계: 묶어서 커밋한 그룹 수와 문장 수, 혼자라서 바로 실행한 수, 그룹 실패로 따로 실행한 수
+    Stats getStats() {
+        return new Stats(groups.sum(), groupedStatements.sum(), singles.sum(), fallbacks.sum());
+    }
+
+    // 진행 중인 그룹은 마치고, 대기 중인 작업은 각 쓰레드가 직접 실행하도록 넘김
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.result.complete(RUN_ALONE);
+        }
+    }
+
+    public record Stats(long groups, long groupedStatements, long singles, long fallbacks) {
+        // 그룹 하나에 평균 몇 개의 쓰기가 묶였는지
+        public double averageGroupSize() {
+            return groups == 0 ? 0.0 : (double) groupedStatements / groups;
+        }
+    }
+
+    private static final class Request {
+        private final SimpleDb.ConnectionCallback<?> callback;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Request(SimpleDb.ConnectionCallback<?> callback) {
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.back.simpleDb;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/*
+Java Flight Recorder 용 SimpleDb 이벤트
+
+구현 로직:
+1. 실행 전에 이벤트 객체 생성 + begin(), 끝나면 end()
+2. shouldCommit() 이 true 일 때만 SQL 템플릿 등 값을 채우고 commit()
+   (JFR 이 꺼져 있거나 threshold 보다 짧으면 false → 문자열 정규화도 하지 않음)
+
+- 녹화를 안 할 때는 begin/end/shouldCommit 이 거의 비용 없는 호출이 되고, 이벤트 객체는 JIT 가 없애줌
+- duration, 시작 시각, 쓰레드는 JFR 이 자동으로 기록
+
+threshold 설정 (느린 쿼리만 기록):
+java -XX:StartFlightRecording:com.back.simpleDb.Query#threshold=20ms,filename=app.jfr ...
+또는 .jfc 설정 파일에서 <setting name="threshold">20 ms</setting>
+*/
+final class JfrEvents {
+    private JfrEvents() {
+    }
+
+    @Name("com.back.simpleDb.Query")
+    @Label("SimpleDb Query")
+    @Category({"SimpleDb"})
+    @Description("Sql/SimpleDb.run 실행 1회 (connection 대여 포함)")
+    @StackTrace(false)
+    @Threshold("0 ms")
+    static final class QueryEvent extends Event {
+        @Label("SQL Template")
+        String sql;
+
+        @Label("Rows")
+        @Description("조회는 읽은 행 수, 쓰기는 영향받은 행 수")
+        long rows;
+
+        @Label("Connection Acquire")
+        @Timespan(Timespan.NANOSECONDS)
+        long acquireDuration;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("com.back.simpleDb.Transaction")
+    @Label("SimpleDb Transaction")
+    @Category({"SimpleDb"})
+    @Description("startTransaction() 부터 commit()/rollback() 까지")
+    @StackTrace(false)
+    @Threshold("0 ms")
+    static final class TransactionEvent extends Event {
+        @Label("Outcome")
+        @Description("commit, rollback, close")
+        String outcome;
+    }
+
+    @Name("com.back.simpleDb.ConnectionOpen")
+    @Label("SimpleDb Connection Open")
+    @Category({"SimpleDb", "Connection"})
+    @StackTrace(false)
+    @Enabled(true)
+    static final class ConnectionOpenEvent extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("com.back.simpleDb.ConnectionClose")
+    @Label("SimpleDb Connection Close")
+    @Category({"SimpleDb", "Connection"})
+    @StackTrace(false)
+    @Enabled(true)
+    static final class ConnectionCloseEvent extends Event {
+        @Label("Lifetime")
+        @Timespan(Timespan.NANOSECONDS)
+        long lifetime;
+    }
+}
@@ -0,0 +1,27 @@
+package com.back.simpleDb;
+
+import java.util.List;
+
+// QueryListener.logging() 구현: System.Logger 로 DEBUG 기록
+final class LoggingQueryListener implements QueryListener {
+    static final LoggingQueryListener INSTANCE = new LoggingQueryListener();
+
+    private static final System.Logger LOGGER = System.getLogger("com.back.simpleDb");
+
+    private LoggingQueryListener() {
+    }
+
+    @Override
+    public void onQuery(String sql, List<Object> params, long elapsedNanos, long rows, boolean success) {
+        if (!LOGGER.isLoggable(System.Logger.Level.DEBUG)) {
+            return;
+        }
+        LOGGER.log(System.Logger.Level.DEBUG, "SQL: {0} / Parameters: {1} / {2} ms, {3} rows{4}",
+                sql, params, elapsedNanos / 1_000_000.0, rows, success ? "" : " (실패)");
+    }
+
+    @Override
+    public void onTransaction(String event) {
+        LOGGER.log(System.Logger.Level.DEBUG, "Transaction {0}", event);
+    }
+}
@@ -0,0 +1,89 @@
+package com.back.simpleDb;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/*
+long 값을 primitive 배열에 저장하는 가변 리스트
+
+- 내부는 long[] 이라 값마다 Long 객체를 만들지 않음 (get() 으로 꺼낼 때만 박싱)
+- List<Long> 으로도 쓸 수 있어서 equals/hashCode 는 일반 List 와 동일하게 동작
+- getLong()/toArray() 로 박싱 없이 꺼낼 수 있음
+*/
+public class LongList extends AbstractList<Long> implements RandomAccess {
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this(16);
+    }
+
+    public LongList(int initialCapacity) {
+        this.values = new long[Math.max(initialCapacity, 1)];
+    }
+
+    public void addLong(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        checkIndex(index);
+        long old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    @Override
+    public boolean add(Long value) {
+        addLong(value);
+        return true;
+    }
+
+    @Override
+    public Long remove(int index) {
+        checkIndex(index);
+        long old = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // 크기에 딱 맞는 long[] 복사본
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
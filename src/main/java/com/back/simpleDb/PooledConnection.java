@@ -0,0 +1,68 @@
+package com.back.simpleDb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 풀이 관리하는 물리 connection 과 부가 정보(마지막 사용 시각, statement 캐시)
+class PooledConnection {
+    private final Connection connection;
+    private final StatementCache statementCache;
+    // 이 connection 을 만든 풀 (primary 또는 replica, 반납할 곳)
+    private final ConnectionPool pool;
+
+    // System.nanoTime() 기준 마지막 반납 시각 (유휴 판단/검증 주기 계산용)
+    private volatile long lastUsedAt;
+    // System.nanoTime() 기준 생성 시각 (JFR connection 종료 이벤트용)
+    private final long createdAt;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize, StatementCache.Counters counters) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = new StatementCache(connection, statementCacheSize, counters);
+        this.lastUsedAt = System.nanoTime();
+        this.createdAt = lastUsedAt;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    ConnectionPool getPool() {
+        return pool;
+    }
+
+    // 캐시된 PreparedStatement 반환 (close 하지 말 것)
+    PreparedStatement prepareStatement(String sql) throws SQLException {
+        return statementCache.prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return statementCache.prepare(sql, autoGeneratedKeys);
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    void touch() {
+        lastUsedAt = System.nanoTime();
+    }
+
+    // 물리 connection 종료, 이미 끊긴 connection 의 오류는 무시
+    void closeQuietly() {
+        JfrEvents.ConnectionCloseEvent event = new JfrEvents.ConnectionCloseEvent();
+        event.begin();
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.lifetime = System.nanoTime() - createdAt;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.back.simpleDb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+한 번 컴파일해서 여러 번 실행하는 SQL 템플릿
+
+구현 로직:
+1. compile: SQL 을 한 글자씩 읽으며 ? 와 :이름 파라미터 위치를 찾음
+   - 문자열('...', "..."), 식별자(`...`), 주석(--, #, /* *\/) 안은 건너뜀
+   - :이름 은 ? 로 바꾸고 이름 → 위치 목록을 보관 (같은 이름을 여러 번 써도 됨)
+   - ? 와 :이름 을 섞으면 예외
+2. bind: 값 배열만 만들어 컴파일된 SQL 과 함께 Sql 로 감싸 반환
+3. 반환된 Sql 의 selectRow/update 등 기존 메서드로 실행 (캐시, 지표, 비동기 모두 그대로 적용)
+
+- 실행마다 StringBuilder/문자열 생성 없음, 할당은 Sql 객체와 값 배열 정도
+- 같은 템플릿은 항상 같은 String 객체 → connection 별 StatementCache 에서 같은 PreparedStatement 를 재사용
+  (String 의 hashCode 는 캐시되고 equals 는 같은 객체면 바로 true)
+- 여러 쓰레드가 같은 PreparedQuery 를 동시에 써도 됨 (불변)
+
+사용 예:
+PreparedQuery byId = simpleDb.genSql().append("SELECT * FROM article WHERE id = :id").prepare();
+Article article = byId.bind(Map.of("id", 1L)).selectRow(Article.class);
+
+PreparedQuery count = simpleDb.genSql().append("SELECT COUNT(*) FROM article WHERE id BETWEEN ? AND ?").prepare();
+long n = count.bind(1, 3).selectLong();
+*/
+public class PreparedQuery {
+    private final SimpleDb simpleDb;
+    private final String sql;
+    private final int parameterCount;
+    // 이름 → 그 이름이 쓰인 위치들 (위치 파라미터 템플릿이면 비어 있음)
+    private final Map<String, int[]> slotsByName;
+
+    private PreparedQuery(SimpleDb simpleDb, String sql, int parameterCount, Map<String, int[]> slotsByName) {
+        this.simpleDb = simpleDb;
+        this.sql = sql;
+        this.parameterCount = parameterCount;
+        this.slotsByName = slotsByName;
+    }
+
+    static PreparedQuery compile(SimpleDb simpleDb, String source) {
+        StringBuilder sql = new StringBuilder(source.length());
+        List<String> names = new ArrayList<>();
+        int positional = 0;
+
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            char next = i + 1 < length ? source.charAt(i + 1) : '\0';
+
+            int skipTo = -1;
+            if (c == '\'' || c == '"' || c == '`') {
+                skipTo = closingQuote(source, i);
+            } else if (c == '#' || (c == '-' && next == '-')) {
+                int newline = source.indexOf('\n', i);
+                skipTo = newline < 0 ? length : newline;
+            } else if (c == '/' && next == '*') {
+                int close = source.indexOf("*/", i + 2);
+                skipTo = close < 0 ? length : close + 2;
+            }
+            if (skipTo >= 0) {
+                sql.append(source, i, skipTo);
+                i = skipTo;
+                continue;
+            }
+
+            if (c == '?') {
+                positional++;
+                names.add(null);
+            } else if (c == ':' && Character.isJavaIdentifierStart(next) && (i == 0 || source.charAt(i - 1) != ':')) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                names.add(source.substring(i + 1, end));
+                sql.append('?');
+                i = end;
+                continue;
+            }
+            sql.append(c);
+            i++;
+        }
+
+        if (positional > 0 && positional < names.size()) {
+            throw new IllegalArgumentException("? 와 :이름 파라미터를 섞어 쓸 수 없습니다: " + source);
+        }
+
+        Map<String, int[]> slotsByName = new LinkedHashMap<>();
+        for (int slot = 0; slot < names.size(); slot++) {
+            String name = names.get(slot);
+            if (name != null) {
+                int[] slots = slotsByName.get(name);
+                slots = slots == null ? new int[]{slot} : Arrays.copyOf(slots, slots.length + 1);
+                slots[slots.length - 1] = slot;
+                slotsByName.put(name, slots);
+            }
+        }
+        return new PreparedQuery(simpleDb, sql.toString(), names.size(), Collections.unmodifiableMap(slotsByName));
+    }
+
+    // 따옴표로 시작한 구간이 끝나는 위치 (백슬래시 이스케이프, '' 는 닫고 다시 여는 것과 같아 따로 처리하지 않음)
+    private static int closingQuote(String source, int start) {
+        char quote = source.charAt(start);
+        for (int i = start + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i++;
+            } else if (c == quote) {
+                return i + 1;
+            }
+        }
+        return source.length();
+    }
+
+    // ? 로 바뀐 실행용 SQL
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    // :이름 파라미터 이름들 (처음 나온 순서, 위치 파라미터 템플릿이면 빈 목록)
+    public List<String> getParameterNames() {
+        return List.copyOf(slotsByName.keySet());
+    }
+
+    /*
+    위치 파라미터(?) 값 바인딩
+
+    - 값 개수가 ? 개수와 다르면 예외
+    - 전달한 배열을 복사하지 않고 그대로 사용 (bind 후에 배열을 바꾸지 말 것)
+    */
+    public Sql bind(Object... values) {
+        if (!slotsByName.isEmpty()) {
+            throw new IllegalStateException(":이름 파라미터 템플릿은 bind(Map) 으로 값을 넣어야 합니다: " + slotsByName.keySet());
+        }
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException("파라미터 개수가 맞지 않습니다: 필요 " + parameterCount + ", 전달 " + values.length);
+        }
+        return new Sql(simpleDb, sql, Arrays.asList(values));
+    }
+
+    /*
+    :이름 파라미터 값 바인딩
+
+    - 템플릿의 모든 이름에 값이 있어야 함 (null 값은 HashMap 등으로 전달)
+    - 템플릿에 없는 이름이 있으면 오타로 보고 예외
+    */
+    public Sql bind(Map<String, ?> values) {
+        if (slotsByName.isEmpty() && parameterCount > 0) {
+            throw new IllegalStateException("? 파라미터 템플릿은 bind(Object...) 로 값을 넣어야 합니다");
+        }
+        if (values.size() != slotsByName.size() || !slotsByName.keySet().containsAll(values.keySet())) {
+            throw new IllegalArgumentException("파라미터 이름이 맞지 않습니다: 필요 " + slotsByName.keySet() + ", 전달 " + values.keySet());
+        }
+
+        Object[] bound = new Object[parameterCount];
+        for (Map.Entry<String, int[]> entry : slotsByName.entrySet()) {
+            Object value = values.get(entry.getKey());
+            for (int slot : entry.getValue()) {
+                bound[slot] = value;
+            }
+        }
+        return new Sql(simpleDb, sql, Arrays.asList(bound));
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedQuery[" + sql + "]";
+    }
+}
@@ -0,0 +1,38 @@
+package com.back.simpleDb;
+
+import java.util.List;
+
+/*
+SQL 실행/트랜잭션 이벤트 hook (SimpleDb.setQueryListener)
+
+구현 로직:
+1. SQL 한 번 실행이 끝나면 지표(SqlMetrics) 기록 직후 onQuery 호출 (성공/실패 모두)
+2. 트랜잭션 시작/커밋/롤백/close 시 onTransaction 호출
+
+- 쿼리를 실행한 쓰레드에서 바로 호출되므로 오래 걸리는 처리는 따로 넘길 것
+- listener 의 예외는 쿼리 결과에 영향을 주지 않도록 무시됨
+- devMode 이고 listener 가 없으면 logging() 이 사용됨
+*/
+@FunctionalInterface
+public interface QueryListener {
+    /*
+    - params: 바인딩한 파라미터 (배치 실행은 빈 목록), 호출 중에만 유효
+    - elapsedNanos: connection 대여 ~ 결과 변환까지 걸린 시간
+    - rows: 조회 행 수 또는 영향받은 행 수
+    */
+    void onQuery(String sql, List<Object> params, long elapsedNanos, long rows, boolean success);
+
+    // event: "start", "commit", "rollback", "close"
+    default void onTransaction(String event) {
+    }
+
+    /*
+    System.Logger("com.back.simpleDb") 로 DEBUG 기록 (devMode 기본 listener)
+
+    - 로거 설정(Spring Boot 면 logging.level.com.back.simpleDb=DEBUG)으로 출력 여부와 대상을 정함
+    - DEBUG 가 꺼져 있으면 메시지를 만들지 않음
+    */
+    static QueryListener logging() {
+        return LoggingQueryListener.INSTANCE;
+    }
+}
@@ -0,0 +1,226 @@
+package com.back.simpleDb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/*
+SELECT 결과 캐시 (테이블 단위 무효화)
+
+구현 로직:
+1. 키: 조회 종류(selectRows/selectLong/...) + SQL 문자열 + 바인딩 파라미터
+2. 캐시에 없으면 조회 전에 관련 테이블 버전을 기록 → 조회 → 버전이 그대로일 때만 저장
+3. 쓰기가 일어나면 해당 테이블 버전을 올리고 그 테이블을 읽는 항목을 제거
+4. maxEntries 초과 시 LRU 제거, ttl 이 지난 항목은 조회 시 제거
+
+- 버전 확인: 조회 도중 쓰기가 끝나 무효화된 경우 오래된 결과가 다시 저장되지 않도록
+- 저장되는 값은 불변(unmodifiable)으로 변환해서 공유
+- 테이블을 알 수 없거나 NOW()/RAND() 같은 함수가 있는 SQL 은 캐시하지 않음
+*/
+public class QueryResultCache {
+    private static final int MAX_PARSED_SQL = 10_000;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // 테이블별 버전, 전체 무효화는 globalVersion 으로 처리
+    private final ConcurrentHashMap<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    // SQL 문자열별 분석 결과 (캐시 불가면 빈 배열)
+    private final ConcurrentHashMap<String, String[]> readTablesBySql = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private static final String[] NOT_CACHEABLE = new String[0];
+
+    QueryResultCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("maxEntries, ttlMillis 는 1 이상이어야 합니다");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /*
+    캐시 조회, 없으면 loader 로 조회 후 저장
+
+    - freeze: 저장 전에 결과를 불변 객체로 바꾸는 함수
+    - storable: loader 실행 후 확인, false 면 저장하지 않음 (예: 복제 지연이 있는 replica 에서 읽은 결과)
+    */
+    <R> R get(String kind, String sql, List<Object> params, Supplier<R> loader, UnaryOperator<R> freeze,
+              BooleanSupplier storable) {
+        String[] tables = readTables(sql);
+        if (tables.length == 0) {
+            return loader.get();
+        }
+
+        Key key = new Key(kind, sql, Arrays.asList(params.toArray()));
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.createdAt < ttlNanos) {
+                    hits.increment();
+                    @SuppressWarnings("unchecked")
+                    R value = (R) entry.value;
+                    return value;
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        long global = globalVersion.get();
+        long[] versions = versions(tables);
+
+        R value = freeze.apply(loader.get());
+        if (!storable.getAsBoolean()) {
+            return value;
+        }
+
+        lock.lock();
+        try {
+            if (global == globalVersion.get() && Arrays.equals(versions, versions(tables))) {
+                entries.put(key, new Entry(value, tables, System.nanoTime()));
+                if (entries.size() > maxEntries) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    // 쓰기 SQL 실행 후 호출: 관련 테이블 무효화 (테이블을 모르면 전체)
+    void invalidate(Set<String> tables) {
+        if (tables == null) {
+            invalidateAll();
+            return;
+        }
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        invalidations.increment();
+        lock.lock();
+        try {
+            for (String table : tables) {
+                tableVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+            }
+            entries.values().removeIf(entry -> {
+                for (String table : entry.tables) {
+                    if (tables.contains(table)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        invalidations.increment();
+        lock.lock();
+        try {
+            globalVersion.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), invalidations.sum(), size());
+    }
+
+    // 캐시 통계 스냅샷
+    public record Stats(long hits, long misses, long invalidations, int size) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private String[] readTables(String sql) {
+        String[] tables = readTablesBySql.get(sql);
+        if (tables != null) {
+            return tables;
+        }
+
+        if (SqlTables.isSelect(sql) && SqlTables.isDeterministic(sql)) {
+            tables = SqlTables.readTables(sql).toArray(new String[0]);
+        } else {
+            tables = NOT_CACHEABLE;
+        }
+
+        if (readTablesBySql.size() >= MAX_PARSED_SQL) {
+            readTablesBySql.clear();
+        }
+        readTablesBySql.put(sql, tables);
+        return tables;
+    }
+
+    private long[] versions(String[] tables) {
+        long[] versions = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            AtomicLong version = tableVersions.get(tables[i]);
+            versions[i] = version == null ? 0 : version.get();
+        }
+        return versions;
+    }
+
+    // 불변 변환 도우미
+    static List<Map<String, Object>> freezeRows(List<Map<String, Object>> rows) {
+        return rows.stream().map(QueryResultCache::freezeRow).toList();
+    }
+
+    static Map<String, Object> freezeRow(Map<String, Object> row) {
+        return row == null ? null : Collections.unmodifiableMap(row);
+    }
+
+    static <T> List<T> freezeList(List<T> list) {
+        return Collections.unmodifiableList(list);
+    }
+
+    private record Key(String kind, String sql, List<Object> params) {
+    }
+
+    private record Entry(Object value, String[] tables, long createdAt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.back.simpleDb;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+읽기 전용 replica 풀 목록과 선택 규칙
+
+구현 로직:
+1. ROUND_ROBIN: 호출할 때마다 다음 replica (카운터 하나를 증가시켜 나머지 연산)
+2. LEAST_LOADED: 대여 중인 connection 이 가장 적은 replica (같으면 round-robin 순서로 앞선 것)
+
+- replica 추가는 드물고 선택은 매 조회마다 하므로 CopyOnWriteArrayList (선택 시 잠금 없음)
+*/
+final class ReplicaPools {
+    private final List<ConnectionPool> pools = new CopyOnWriteArrayList<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private volatile SimpleDb.ReadRouting routing = SimpleDb.ReadRouting.ROUND_ROBIN;
+
+    void add(ConnectionPool pool) {
+        pools.add(pool);
+    }
+
+    boolean isEmpty() {
+        return pools.isEmpty();
+    }
+
+    void setRouting(SimpleDb.ReadRouting routing) {
+        this.routing = routing;
+    }
+
+    // 이번 조회를 보낼 replica (없으면 null)
+    ConnectionPool choose() {
+        // replica 는 추가만 되므로 size 를 먼저 읽어도 인덱스가 유효함
+        int size = pools.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        if (routing == SimpleDb.ReadRouting.ROUND_ROBIN || size == 1) {
+            return pools.get(start);
+        }
+
+        ConnectionPool best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ConnectionPool pool = pools.get((start + i) % size);
+            int active = pool.getActiveCount();
+            if (active < bestActive) {
+                best = pool;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    List<ConnectionPool> getPools() {
+        return List.copyOf(pools);
+    }
+
+    void close() {
+        pools.forEach(ConnectionPool::close);
+    }
+}
@@ -0,0 +1,77 @@
+package com.back.simpleDb;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+결과 집합 1개의 컬럼 구성 (모든 행이 공유)
+
+구현 로직:
+1. ResultSetMetaData 에서 컬럼 이름을 한 번만 읽음
+2. 중복 이름은 하나의 슬롯으로 합침 (LinkedHashMap.put 처럼 뒤의 값이 앞 위치에 덮어씀)
+3. 컬럼 번호 → 슬롯 번호 매핑을 배열로 보관
+
+- 행마다 getMetaData()/getColumnName() 을 호출하지 않아도 됨
+- Map 키는 기존 selectRows() 와 같이 getColumnName() (별칭이 아니라 원래 컬럼 이름, 식은 식 그대로)
+*/
+final class RowSchema {
+    private final String[] labels;
+    private final Map<String, Integer> slotByLabel;
+    private final int[] slotByColumn;
+
+    private RowSchema(String[] labels, Map<String, Integer> slotByLabel, int[] slotByColumn) {
+        this.labels = labels;
+        this.slotByLabel = slotByLabel;
+        this.slotByColumn = slotByColumn;
+    }
+
+    static RowSchema of(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        List<String> labels = new ArrayList<>(columnCount);
+        Map<String, Integer> slotByLabel = new HashMap<>();
+        int[] slotByColumn = new int[columnCount];
+
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnName(i);
+            Integer slot = slotByLabel.get(label);
+            if (slot == null) {
+                slot = labels.size();
+                labels.add(label);
+                slotByLabel.put(label, slot);
+            }
+            slotByColumn[i - 1] = slot;
+        }
+
+        return new RowSchema(labels.toArray(new String[0]), slotByLabel, slotByColumn);
+    }
+
+    // 현재 행을 CompactRow 로 읽기
+    CompactRow read(ResultSet rs) throws SQLException {
+        Object[] values = new Object[labels.length];
+        for (int i = 0; i < slotByColumn.length; i++) {
+            values[slotByColumn[i]] = rs.getObject(i + 1);
+        }
+        return new CompactRow(this, values);
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    String label(int slot) {
+        return labels[slot];
+    }
+
+    // 컬럼 이름의 슬롯 번호, 없으면 -1
+    int indexOf(Object label) {
+        Integer slot = slotByLabel.get(label);
+        return slot == null ? -1 : slot;
+    }
+}
@@ -0,0 +1,136 @@
+package com.back.simpleDb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/*
+여러 SimpleDb(샤드)를 하나처럼 쓰는 앞단
+
+구현 로직:
+1. genSql(shardKey): 샤드 키로 고른 샤드 하나의 Sql 반환 (쓰기, 키로 찾는 조회)
+2. genSql(): 모든 샤드에 보내는 ShardedSql 반환 (키 없는 조회, 전체 UPDATE/DELETE)
+   - 샤드마다 가상 쓰레드에서 동시에 실행하고 결과를 합침 (scatter-gather)
+
+- 샤드 키 → 샤드 번호는 ShardRouter 가 결정 (기본: 숫자 키는 key % 샤드 수, 그 외는 hashCode)
+- AUTO_INCREMENT id 는 샤드마다 따로 증가하므로, id 로 나누려면 INSERT 에 id 를 직접 넣어야 함
+- 트랜잭션은 샤드 하나 안에서만 (genSql(shardKey) 를 쓴 샤드의 SimpleDb 로 시작)
+
+사용 예:
+ShardedSimpleDb shardedDb = new ShardedSimpleDb(List.of(shard0, shard1));
+shardedDb.genSql(id).append("INSERT INTO article SET id = ?, ...", id, ...).insert();
+long count = shardedDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+*/
+public class ShardedSimpleDb {
+    private final List<SimpleDb> shards;
+    private final ShardRouter router;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedSimpleDb(List<SimpleDb> shards) {
+        this(shards, ShardRouter.modulo());
+    }
+
+    public ShardedSimpleDb(List<SimpleDb> shards, ShardRouter router) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 하나 이상 필요합니다");
+        }
+        this.shards = List.copyOf(shards);
+        this.router = router;
+    }
+
+    // 샤드 키가 속한 샤드의 Sql
+    public Sql genSql(Object shardKey) {
+        return shard(shardKey).genSql();
+    }
+
+    // 모든 샤드에 실행하는 Sql
+    public ShardedSql genSql() {
+        return new ShardedSql(this);
+    }
+
+    // 샤드 키가 속한 샤드 (트랜잭션 등 SimpleDb 를 직접 써야 할 때)
+    public SimpleDb shard(Object shardKey) {
+        if (shardKey == null) {
+            throw new IllegalArgumentException("샤드 키는 null 일 수 없습니다");
+        }
+        int index = router.shardFor(shardKey, shards.size());
+        if (index < 0 || index >= shards.size()) {
+            throw new IllegalStateException("잘못된 샤드 번호: " + index + " (샤드 수 " + shards.size() + ")");
+        }
+        return shards.get(index);
+    }
+
+    public List<SimpleDb> getShards() {
+        return shards;
+    }
+
+    /*
+    모든 샤드에 동시에 실행, 결과는 샤드 순서대로
+
+    - 하나라도 실패하면 나머지를 기다리지 않고 그 예외를 던짐
+    */
+    <R> List<R> scatter(Function<SimpleDb, R> work) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (SimpleDb shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> work.apply(shard), executor));
+        }
+        List<R> results = new ArrayList<>(shards.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return results;
+    }
+
+    // 모든 샤드 종료
+    public void shutdown() {
+        executor.shutdown();
+        shards.forEach(SimpleDb::shutdown);
+    }
+
+    // 샤드 키 → 샤드 번호 (0 ~ shardCount - 1)
+    @FunctionalInterface
+    public interface ShardRouter {
+        int shardFor(Object key, int shardCount);
+
+        // 숫자 키는 key % shardCount (Integer 1 과 Long 1 이 같은 샤드), 그 외는 hashCode 기준
+        static ShardRouter modulo() {
+            return (key, shardCount) -> key instanceof Number number
+                    ? (int) Math.floorMod(number.longValue(), (long) shardCount)
+                    : Math.floorMod(key.hashCode(), shardCount);
+        }
+
+        /*
+        숫자 범위 기준: 샤드 i 는 upperBounds[i] 미만, 마지막 샤드는 나머지 전부
+
+        예: range(1_000_000, 2_000_000) → 샤드 0: ~999,999 / 샤드 1: ~1,999,999 / 샤드 2: 그 이상
+        */
+        static ShardRouter range(long... upperBounds) {
+            long[] bounds = upperBounds.clone();
+            for (int i = 1; i < bounds.length; i++) {
+                if (bounds[i - 1] >= bounds[i]) {
+                    throw new IllegalArgumentException("upperBounds 는 오름차순이어야 합니다: " + Arrays.toString(upperBounds));
+                }
+            }
+            return (key, shardCount) -> {
+                if (bounds.length != shardCount - 1) {
+                    throw new IllegalStateException("range 경계 수는 샤드 수 - 1 이어야 합니다: " + bounds.length);
+                }
+                if (!(key instanceof Number number)) {
+                    throw new IllegalArgumentException("range 샤드 키는 숫자여야 합니다: " + key);
+                }
+                int index = Arrays.binarySearch(bounds, number.longValue());
+                // 경계값은 다음 샤드 (upperBounds 는 미만 기준)
+                return index >= 0 ? index + 1 : -index - 1;
+            };
+        }
+    }
+}
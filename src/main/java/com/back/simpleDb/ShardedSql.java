@@ -0,0 +1,341 @@
+package com.back.simpleDb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+모든 샤드에 보내는 Sql (ShardedSimpleDb.genSql())
+
+구현 로직:
+1. append/appendIn 으로 SQL 과 파라미터를 모음 (Sql 과 같은 사용법)
+2. 실행 시 샤드마다 같은 SQL 로 Sql 을 만들어 동시에 실행 (ShardedSimpleDb.scatter)
+3. 결과 병합
+   - selectRows: 이어붙인 뒤 ORDER BY 가 있으면 그 기준으로 정렬, LIMIT/OFFSET 은 합친 결과에 적용
+     (샤드에는 LIMIT offset + n 으로 보내서 각 샤드의 상위 후보만 받음)
+   - selectLong: COUNT/SUM 은 합계, MIN/MAX 는 최소/최대
+   - update/delete: 영향받은 행 수 합계
+
+- 샤드별 결과는 이미 정렬되어 있으므로 List.sort(TimSort)가 정렬된 구간들을 합치는 방식으로 동작 (k-way merge 와 비슷한 비용)
+- ORDER BY 는 조회한 컬럼 이름만 지원 (대소문자 무시, 식/함수/조회하지 않은 컬럼은 예외), LIMIT/OFFSET 은 문장 끝의 숫자만 지원
+  (LIMIT ?, LIMIT ... FOR UPDATE 등은 샤드 수만큼 결과가 늘어나므로 예외)
+- ORDER BY/LIMIT 은 괄호 밖(최상위)의 것만 병합 기준으로 봄 (서브쿼리 안의 것은 샤드에서 그대로 실행)
+- 이어붙이기로 병합할 수 없는 조회는 예외: 최상위 GROUP BY/HAVING, SELECT DISTINCT, 조회 항목의 집계/윈도 함수
+  (샤드마다 따로 묶거나 중복을 없앤 결과라서 합치면 그룹/값이 샤드 수만큼 나옴, 집계 값은 selectLong 사용)
+- INSERT 는 샤드를 정해야 하므로 ShardedSimpleDb.genSql(shardKey) 사용
+*/
+public class ShardedSql {
+    private static final Pattern LIMIT_TAIL = Pattern.compile("(?is)\\s+LIMIT\\s+(\\d+)(?:\\s*(,|OFFSET)\\s*(\\d+))?\\s*$");
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)\\bORDER\\s+BY\\b");
+    private static final Pattern LIMIT = Pattern.compile("(?i)\\bLIMIT\\b");
+    private static final Pattern GROUP_BY = Pattern.compile("(?i)\\bGROUP\\s+BY\\b|\\bHAVING\\b");
+    private static final Pattern SELECT_DISTINCT = Pattern.compile("(?is)^\\s*SELECT\\s+DISTINCT(?:ROW)?\\b");
+    private static final Pattern FROM = Pattern.compile("(?i)\\bFROM\\b");
+    // 조회 항목의 집계 함수/윈도 함수 (서브쿼리 안의 것은 topLevel 로 제외)
+    private static final Pattern GROUPING_FUNCTION = Pattern.compile(
+            "(?i)\\b(?:COUNT|SUM|AVG|MIN|MAX|GROUP_CONCAT|JSON_ARRAYAGG|JSON_OBJECTAGG|BIT_AND|BIT_OR|BIT_XOR"
+                    + "|STD|STDDEV|STDDEV_POP|STDDEV_SAMP|VARIANCE|VAR_POP|VAR_SAMP)\\s*\\(|\\bOVER\\b");
+    private static final Pattern ORDER_KEY = Pattern.compile("(?i)^\\s*(?:\\w+\\.)?`?(\\w+)`?(?:\\s+(ASC|DESC))?\\s*$");
+    // SELECT 집계함수( ... ) [AS 별칭] FROM : 괄호 안은 짝을 맞춰서 따로 확인
+    private static final Pattern AGGREGATE = Pattern.compile("(?is)^\\s*SELECT\\s+(COUNT|SUM|MIN|MAX)\\s*\\(");
+    private static final Pattern AGGREGATE_END = Pattern.compile("(?is)^\\)(?:\\s+(?:AS\\s+)?`?\\w+`?)?\\s+FROM\\b");
+    // SELECT [테이블.]컬럼 [[AS] 별칭] , 또는 FROM : selectLongs 의 첫 번째 컬럼
+    private static final Pattern FIRST_COLUMN = Pattern.compile(
+            "(?is)^\\s*SELECT\\s+(?:\\w+\\.)?`?(\\w+)`?(?:\\s+(?:AS\\s+)?`?(\\w+)`?)?\\s*(?:,|\\s+FROM\\b)");
+
+    private final ShardedSimpleDb shardedDb;
+    private final StringBuilder sqlBuilder = new StringBuilder();
+    private final List<Object> parameters = new ArrayList<>();
+
+    ShardedSql(ShardedSimpleDb shardedDb) {
+        this.shardedDb = shardedDb;
+    }
+
+    public ShardedSql append(String sql, Object... params) {
+        if (sqlBuilder.length() > 0) {
+            sqlBuilder.append(" ");
+        }
+        sqlBuilder.append(sql);
+        parameters.addAll(Arrays.asList(params));
+        return this;
+    }
+
+    // 첫 번째 ? 를 값 개수만큼의 플레이스홀더로 바꿈 (Sql.appendIn 과 같음)
+    public ShardedSql appendIn(String sql, Object... params) {
+        int mark = sql.indexOf('?');
+        if (mark < 0) {
+            return append(sql, params);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(params.length, "?"));
+        return append(sql.substring(0, mark) + placeholders + sql.substring(mark + 1), params);
+    }
+
+    public List<Map<String, Object>> selectRows() {
+        return gather(Sql::selectRows, (row, column) -> row.get(column), Map::keySet);
+    }
+
+    public <T> List<T> selectRows(Class<T> cls) {
+        BeanMapper<T> beanMapper = BeanMapper.of(cls);
+        return gather(sql -> sql.selectRows(cls), beanMapper::get, row -> beanMapper.propertyNames());
+    }
+
+    // 병합 결과의 첫 행 (없으면 null)
+    public Map<String, Object> selectRow() {
+        List<Map<String, Object>> rows = selectRows();
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public <T> T selectRow(Class<T> cls) {
+        List<T> rows = selectRows(cls);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /*
+    첫 번째 컬럼 값들
+
+    - ORDER BY 는 그 첫 번째 컬럼(또는 별칭) 하나만 지원 (값 자체로 정렬)
+    - 다른 컬럼 기준 정렬은 값만으로 병합할 수 없으므로 예외 (selectRows 사용)
+    */
+    public List<Long> selectLongs() {
+        String sql = sqlBuilder.toString();
+        Merge merge = Merge.of(sql);
+        if (!merge.keys().isEmpty()) {
+            Matcher column = FIRST_COLUMN.matcher(sql);
+            String key = merge.keys().get(0).column();
+            if (merge.keys().size() > 1 || !column.find()
+                    || !(key.equalsIgnoreCase(column.group(1)) || key.equalsIgnoreCase(column.group(2)))) {
+                throw new IllegalStateException("샤드 병합 selectLongs 는 조회한 첫 번째 컬럼 기준 ORDER BY 만 지원합니다: " + sql);
+            }
+        }
+
+        List<Long> values = new ArrayList<>();
+        shardedDb.scatter(shard -> shardSql(shard, merge).selectLongs()).forEach(values::addAll);
+        if (!merge.keys().isEmpty()) {
+            Comparator<Long> order = Comparator.naturalOrder();
+            values.sort(merge.keys().get(0).descending() ? order.reversed() : order);
+        }
+        return merge.page(values);
+    }
+
+    /*
+    집계 값 조회
+
+    - SELECT COUNT(...)/SUM(...) → 샤드별 값의 합
+    - SELECT MIN(...)/MAX(...) → 샤드별 값 중 최소/최대
+    - NULL(행이 없는 샤드의 SUM/MIN/MAX)은 제외, 모두 NULL 이면 null
+    - 조회 항목이 집계 함수 하나뿐이어야 함 (MAX(id) + 1 같은 식, GROUP BY/HAVING 은 예외)
+    - COUNT(DISTINCT ...)/SUM(DISTINCT ...) 는 샤드 사이 중복을 알 수 없으므로 예외
+    */
+    public Long selectLong() {
+        String sql = sqlBuilder.toString();
+        Matcher matcher = AGGREGATE.matcher(sql);
+        int close = matcher.find() ? closingParen(sql, matcher.end()) : -1;
+        if (close < 0 || !AGGREGATE_END.matcher(sql.substring(close)).find() || topLevel(GROUP_BY, sql) >= 0) {
+            throw new IllegalStateException("샤드 키 없는 selectLong 은 COUNT/SUM/MIN/MAX 하나만 조회하는 SQL 만 지원합니다: " + sql);
+        }
+        String function = matcher.group(1).toUpperCase();
+        boolean distinct = sql.substring(matcher.end(), close).stripLeading().regionMatches(true, 0, "DISTINCT", 0, 8);
+        if (distinct && (function.equals("COUNT") || function.equals("SUM"))) {
+            throw new IllegalStateException("샤드 병합에서 " + function + "(DISTINCT ...) 는 지원하지 않습니다: " + sql);
+        }
+
+        Long result = null;
+        for (Long value : shardedDb.scatter(shard -> shard.genSql().append(sql, parameters.toArray()).selectLong())) {
+            if (value == null) {
+                continue;
+            }
+            result = result == null ? value : switch (function) {
+                case "MIN" -> Math.min(result, value);
+                case "MAX" -> Math.max(result, value);
+                default -> result + value;
+            };
+        }
+        return result;
+    }
+
+    // 모든 샤드에 UPDATE, 영향받은 행 수 합계
+    public int update() {
+        return write(Sql::update);
+    }
+
+    // 모든 샤드에 DELETE, 영향받은 행 수 합계
+    public int delete() {
+        return write(Sql::delete);
+    }
+
+    private int write(Function<Sql, Integer> action) {
+        String sql = sqlBuilder.toString();
+        if (SqlTables.isSelect(sql) || sql.stripLeading().regionMatches(true, 0, "INSERT", 0, 6)) {
+            throw new IllegalStateException("모든 샤드 쓰기는 UPDATE/DELETE 만 지원합니다 (INSERT 는 genSql(shardKey)): " + sql);
+        }
+        return shardedDb.scatter(shard -> action.apply(shard.genSql().append(sql, parameters.toArray())))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /*
+    샤드마다 실행 → 이어붙임 → ORDER BY 정렬 → OFFSET/LIMIT
+
+    - columnsOf: 행의 컬럼(프로퍼티) 이름들, ORDER BY 항목을 실제 이름으로 바꾸는 데 사용 (첫 행 기준 한 번)
+    */
+    private <T> List<T> gather(Function<Sql, List<T>> query, BiFunction<T, String, Object> valueOf,
+                               Function<T, Collection<String>> columnsOf) {
+        Merge merge = Merge.of(sqlBuilder.toString());
+        List<T> rows = new ArrayList<>();
+        shardedDb.scatter(shard -> query.apply(shardSql(shard, merge))).forEach(rows::addAll);
+        if (!merge.keys().isEmpty() && !rows.isEmpty()) {
+            rows.sort(Merge.comparator(merge.resolve(columnsOf.apply(rows.get(0))), valueOf));
+        }
+        return merge.page(rows);
+    }
+
+    private Sql shardSql(SimpleDb shard, Merge merge) {
+        return shard.genSql().append(merge.shardSql(), parameters.toArray());
+    }
+
+    // from 위치의 여는 괄호에 짝이 맞는 닫는 괄호 위치 (없으면 -1), from 은 여는 괄호 바로 다음
+    private static int closingParen(String sql, int from) {
+        int depth = 1;
+        for (int i = from; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 괄호 밖(최상위)에서 처음 나오는 pattern 의 시작 위치 (없으면 -1)
+    private static int topLevel(Pattern pattern, String sql) {
+        Matcher matcher = pattern.matcher(sql);
+        int depth = 0;
+        int scanned = 0;
+        while (matcher.find()) {
+            for (; scanned < matcher.start(); scanned++) {
+                char c = sql.charAt(scanned);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                }
+            }
+            if (depth == 0) {
+                return matcher.start();
+            }
+        }
+        return -1;
+    }
+
+    // 정렬 기준 컬럼 하나
+    private record OrderKey(String column, boolean descending) {
+    }
+
+    /*
+    병합 계획: 샤드에 보낼 SQL, 정렬 기준, 합친 결과에 적용할 offset/limit (limit -1 은 제한 없음)
+
+    - LIMIT n OFFSET m / LIMIT m, n → 샤드에는 LIMIT m + n (샤드별 상위 m + n 개면 전체 상위 m + n 개를 모두 포함)
+    - 최상위 LIMIT 이 문장 끝의 숫자 형식이 아니거나, 최상위 ORDER BY 를 해석할 수 없으면 예외
+    - 이어붙여서는 원래 결과가 되지 않는 조회(GROUP BY/HAVING, DISTINCT, 집계/윈도 함수)도 예외
+    */
+    private record Merge(String shardSql, List<OrderKey> keys, long offset, long limit) {
+        static Merge of(String sql) {
+            String body = sql;
+            long offset = 0;
+            long limit = -1;
+            Matcher limitMatcher = LIMIT_TAIL.matcher(sql);
+            if (limitMatcher.find()) {
+                body = sql.substring(0, limitMatcher.start());
+                long first = Long.parseLong(limitMatcher.group(1));
+                String separator = limitMatcher.group(2);
+                if (separator == null) {
+                    limit = first;
+                } else if (separator.equals(",")) {
+                    offset = first;
+                    limit = Long.parseLong(limitMatcher.group(3));
+                } else {
+                    limit = first;
+                    offset = Long.parseLong(limitMatcher.group(3));
+                }
+            }
+
+            if (topLevel(GROUP_BY, body) >= 0 || SELECT_DISTINCT.matcher(body).find()
+                    || topLevel(GROUPING_FUNCTION, selectList(body)) >= 0) {
+                throw new IllegalArgumentException(
+                        "샤드 병합은 GROUP BY/HAVING, DISTINCT, 집계/윈도 함수 조회를 지원하지 않습니다 (집계 값은 selectLong): " + sql);
+            }
+
+            // 끝에서 처리하지 못한 최상위 LIMIT (LIMIT ?, LIMIT n FOR UPDATE 등) → 샤드 수만큼 행이 늘어나므로 예외
+            if (topLevel(LIMIT, body) >= 0) {
+                throw new IllegalArgumentException("샤드 병합은 문장 끝의 LIMIT n [OFFSET m] 만 지원합니다: " + sql);
+            }
+
+            // 서브쿼리 안의 ORDER BY 는 건너뛰고 최상위 ORDER BY 만
+            List<OrderKey> keys = new ArrayList<>();
+            int orderAt = topLevel(ORDER_BY, body);
+            if (orderAt >= 0) {
+                Matcher orderMatcher = ORDER_BY.matcher(body);
+                orderMatcher.find(orderAt);
+                for (String part : body.substring(orderMatcher.end()).split(",")) {
+                    Matcher key = ORDER_KEY.matcher(part);
+                    if (!key.matches()) {
+                        throw new IllegalArgumentException("샤드 병합에서 지원하지 않는 ORDER BY 항목입니다: " + part.trim());
+                    }
+                    keys.add(new OrderKey(key.group(1), "DESC".equalsIgnoreCase(key.group(2))));
+                }
+            }
+
+            String shardSql = limit < 0 ? sql : body + " LIMIT " + (offset + limit);
+            return new Merge(shardSql, List.copyOf(keys), offset, limit);
+        }
+
+        // SELECT 와 최상위 FROM 사이 (FROM 이 없으면 끝까지)
+        private static String selectList(String body) {
+            int from = topLevel(FROM, body);
+            return from < 0 ? body : body.substring(0, from);
+        }
+
+        // ORDER BY 항목을 행의 실제 컬럼 이름으로 (정확히 같은 것 우선, 없으면 대소문자 무시, 그래도 없으면 예외)
+        List<OrderKey> resolve(Collection<String> columns) {
+            List<OrderKey> resolved = new ArrayList<>(keys.size());
+            for (OrderKey key : keys) {
+                String column = columns.contains(key.column()) ? key.column() : columns.stream()
+                        .filter(name -> name.equalsIgnoreCase(key.column()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "샤드 병합 ORDER BY 항목이 조회 결과에 없습니다: " + key.column() + " (컬럼: " + columns + ")"));
+                resolved.add(new OrderKey(column, key.descending()));
+            }
+            return resolved;
+        }
+
+        // NULL 은 MySQL 처럼 오름차순에서 앞, 내림차순에서 뒤
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static <T> Comparator<T> comparator(List<OrderKey> keys, BiFunction<T, String, Object> valueOf) {
+            Comparator<T> result = null;
+            for (OrderKey key : keys) {
+                Comparator<T> byKey = Comparator.comparing(row -> (Comparable) valueOf.apply(row, key.column()),
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                if (key.descending()) {
+                    byKey = byKey.reversed();
+                }
+                result = result == null ? byKey : result.thenComparing(byKey);
+            }
+            return result;
+        }
+
+        <T> List<T> page(List<T> rows) {
+            int from = (int) Math.min(offset, rows.size());
+            int to = limit < 0 ? rows.size() : (int) Math.min(offset + limit, rows.size());
+            return from == 0 && to == rows.size() ? rows : new ArrayList<>(rows.subList(from, to));
+        }
+    }
+}
@@ -3,7 +3,20 @@ package com.back.simpleDb;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 public class SimpleDb {
 
@@ -13,17 +26,64 @@ public class SimpleDb {
     private final String dbName;
     private final String dbUrl;
 
-    // thread별 connection
-    // 요구조건: simpleDb 객체는 멀티 쓰레드 환경에서 공유되어도 문제가 없어야 한다                                                                                              
-    //           simpleDb 객체는 DB Connection 객체를 여러개 가지고 있어야 한다                                                                                                     
-    //           쓰레드 당 1개       
-    private final ThreadLocal<Connection> threadConnection = new ThreadLocal<>();
+    // connection 풀
+    // 요구조건: simpleDb 객체는 멀티 쓰레드 환경에서 공유되어도 문제가 없어야 한다
+    //           simpleDb 객체는 DB Connection 객체를 여러개 가지고 있어야 한다
+    // connection 은 쓰레드가 아니라 "실행 범위"에 임대된다
+    // - Sql 1회 실행: execute() 동안만 대여 후 즉시 반납
+    // - 트랜잭션: startTransaction() ~ commit()/rollback() 동안만 현재 쓰레드에 바인딩
+    // 가상 쓰레드 수십만 개가 동시에 떠 있어도 물리 connection 수는 풀 크기를 넘지 않는다
+    private final ConnectionPool pool;
 
-    // thread별 트랜잭션 상태관리용
-    private final ThreadLocal<Boolean> openTransaction = new ThreadLocal<>();
+    // 트랜잭션 진행 중인 쓰레드의 connection (트랜잭션이 끝나면 바로 remove)
+    private final ThreadLocal<PooledConnection> transactionConnection = new ThreadLocal<>();
 
-    // 개발 모드 플래그
-    private boolean devMode = false;
+    // 진행 중인 트랜잭션의 부가 정보 (쓰기 기록, JFR 이벤트)
+    private final ThreadLocal<TransactionContext> transactionContext = new ThreadLocal<>();
+    private static final String ALL_TABLES = "*";
+
+    // SELECT 결과 캐시, PK 엔티티 캐시 (기본 꺼짐)
+    private volatile QueryResultCache queryCache;
+    private volatile EntityCache entityCache;
+
+    // Sql.xxxAsync() 실행용 executor (기본: 작업마다 가상 쓰레드)
+    private final ExecutorService defaultAsyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Executor asyncExecutor = defaultAsyncExecutor;
+
+    // SQL 템플릿별 실행 지표 (호출 수, 오류 수, 행 수, 단계별 지연시간)
+    private final SqlMetrics metrics = new SqlMetrics();
+
+    // 느린 쿼리 파일 로그 (기본 꺼짐)
+    private volatile SlowQueryLog slowQueryLog;
+
+    // 느린 SELECT 의 EXPLAIN 자동 수집 (기본 꺼짐)
+    private volatile ExplainCapture explainCapture;
+
+    // 읽기 전용 replica 풀 (없으면 모든 실행이 primary)
+    private final ReplicaPools replicas = new ReplicaPools();
+    // read-your-writes 유지 시간 (0 이면 끔), 쓰레드별 마지막 쓰기 시각
+    private volatile long readYourWritesNanos;
+    private final ThreadLocal<Long> lastWriteAt = new ThreadLocal<>();
+    // replica 로 보내면 안 되는 잠금 읽기
+    private static final Pattern LOCKING_READ = Pattern.compile("(?i)\\bFOR\\s+(?:UPDATE|SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b");
+
+    // autocommit 쓰기 묶음 커밋 (null 이면 꺼짐)
+    private volatile GroupCommitter groupCommitter;
+    // 묶어도 되는 DML (DDL 은 암묵적 커밋을 일으키므로 제외)
+    private static final Pattern GROUPABLE_WRITE = Pattern.compile("(?i)^\\s*(?:INSERT|UPDATE|DELETE|REPLACE)\\b");
+
+    // Sql.insertLater() 용 write-behind 버퍼 (null 이면 꺼짐)
+    private volatile WriteBehindBuffer writeBehind;
+
+    // appendIn 의 IN 목록을 나눠 실행하는 기준 크기, chunk 를 동시에 실행할지 여부
+    private volatile int inListChunkSize = 1024;
+    private volatile boolean inListChunkParallel = false;
+
+    // 개발 모드 플래그 (listener 가 없으면 QueryListener.logging() 으로 SQL 기록)
+    private volatile boolean devMode = false;
+
+    // SQL 실행/트랜잭션 이벤트 hook (null 이면 devMode 에 따름)
+    private volatile QueryListener queryListener;
 
     // 요구조건: new SimpleDb("localhost", "root", "root123414", "simpleDb__test")
     public SimpleDb(String host, String username, String password, String dbName) {
@@ -31,7 +91,15 @@ public class SimpleDb {
         this.username = username;
         this.password = password;
         this.dbName = dbName;
-        this.dbUrl = "jdbc:mysql://" + host + ":3306/" + dbName;
+        // useServerPrepStmts: 캐시된 PreparedStatement 가 서버 쪽 prepared statement 를 재사용 (parse/plan 1회)
+        // rewriteBatchedStatements: 배치 INSERT 를 multi-row INSERT 한 번으로 전송
+        this.dbUrl = jdbcUrl(host, 3306, dbName);
+        this.pool = new ConnectionPool(dbUrl, username, password);
+    }
+
+    private static String jdbcUrl(String host, int port, String dbName) {
+        return "jdbc:mysql://" + host + ":" + port + "/" + dbName
+                + "?useServerPrepStmts=true&rewriteBatchedStatements=true";
     }
 
     // 개발 모드 설정
@@ -39,25 +107,533 @@ public class SimpleDb {
         this.devMode = devMode;
     }
 
-    // 현재 thread connection 가져오기, 없으면 생성
-    private Connection getConnection() throws SQLException {
-        Connection conn = threadConnection.get();
-        if (conn == null || conn.isClosed()) {
-            conn = DriverManager.getConnection(dbUrl, username, password);
-            threadConnection.set(conn);
+    // SQL 실행/트랜잭션 이벤트 hook 설정 (null 이면 해제, devMode 보다 우선)
+    public void setQueryListener(QueryListener queryListener) {
+        this.queryListener = queryListener;
+    }
+
+    // 풀 크기 설정 (최소 유휴 개수, 최대 개수)
+    // replica 풀도 같은 설정을 따름
+    public void setPoolSize(int minIdle, int maxSize) {
+        pool.setPoolSize(minIdle, maxSize);
+        replicas.getPools().forEach(replica -> replica.setPoolSize(minIdle, maxSize));
+    }
+
+    // connection 대여 대기 시간 설정
+    public void setBorrowTimeout(long millis) {
+        pool.setBorrowTimeoutMillis(millis);
+        replicas.getPools().forEach(replica -> replica.setBorrowTimeoutMillis(millis));
+    }
+
+    // 유휴 connection 정리 기준 시간 설정
+    public void setIdleTimeout(long millis) {
+        pool.setIdleTimeoutMillis(millis);
+        replicas.getPools().forEach(replica -> replica.setIdleTimeoutMillis(millis));
+    }
+
+    // replica 로 조회를 나누는 방식
+    public enum ReadRouting { ROUND_ROBIN, LEAST_LOADED }
+
+    /*
+    읽기 전용 replica 추가 (dbName, 계정은 primary 와 같음)
+
+    구현 로직:
+    1. replica 마다 primary 와 같은 설정의 connection 풀을 따로 만듦
+    2. Sql 의 selectXxx 는 replica 풀 중 하나에서 connection 을 빌려 실행 (readPool)
+    3. 쓰기, run(), 트랜잭션 안의 모든 실행은 primary
+
+    - replica 에서 connection 을 못 빌리면 (접속 실패, 대기 시간 초과) primary 로 실행
+    - replica 는 복제 지연이 있으므로 방금 쓴 값을 바로 읽어야 하면 setReadYourWrites() 사용
+    */
+    public void addReplica(String host, int port) {
+        addReplica(host, port, username, password);
+    }
+
+    public void addReplica(String host, int port, String username, String password) {
+        ConnectionPool replica = new ConnectionPool(jdbcUrl(host, port, dbName), username, password);
+        replica.copySettingsFrom(pool);
+        replicas.add(replica);
+    }
+
+    public void setReadRouting(ReadRouting routing) {
+        replicas.setRouting(routing);
+    }
+
+    /*
+    read-your-writes: 쓰기 후 windowMillis 동안 같은 쓰레드의 조회는 primary 로 (0 이면 끔, 기본 꺼짐)
+
+    - 쓰레드 기준이므로 xxxAsync() 조회는 적용되지 않음 (다른 쓰레드에서 실행)
+    - windowMillis 는 replica 의 복제 지연보다 길게 설정
+    */
+    public void setReadYourWrites(long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis 는 0 이상이어야 합니다: " + windowMillis);
+        }
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    // 조회를 보낼 replica 풀, primary 로 보내야 하면 null
+    // (replica 없음, 트랜잭션 중, 잠금 읽기, read-your-writes 유지 시간 안)
+    private ConnectionPool readPool(String sql) {
+        if (replicas.isEmpty() || isOpenTransaction() || LOCKING_READ.matcher(sql).find()) {
+            return null;
+        }
+        long window = readYourWritesNanos;
+        if (window > 0) {
+            Long writtenAt = lastWriteAt.get();
+            if (writtenAt != null && System.nanoTime() - writtenAt < window) {
+                return null;
+            }
+        }
+        return replicas.choose();
+    }
+
+    // 쓰기 시각 기록 (read-your-writes 가 켜져 있을 때만)
+    private void markWrite() {
+        if (readYourWritesNanos > 0 && !replicas.isEmpty()) {
+            lastWriteAt.set(System.nanoTime());
+        }
+    }
+
+    // replica 풀 상태 조회용
+    List<ConnectionPool> getReplicaPools() {
+        return replicas.getPools();
+    }
+
+    // JDBC 작업 단위 (connection 을 받아 결과를 반환)
+    @FunctionalInterface
+    interface ConnectionCallback<T> {
+        T doInConnection(PooledConnection conn) throws SQLException;
+    }
+
+    /*
+    connection 을 임대해서 작업 실행
+
+    구현 로직:
+    1. 트랜잭션 중이면 트랜잭션 connection 사용
+    2. 아니면 풀에서 대여 → 작업 실행 → finally 에서 즉시 반납
+
+    - 풀 대기/동기화는 ReentrantLock 기반이라 가상 쓰레드가 carrier 쓰레드를 pin 하지 않음
+    */
+    <T> T execute(ConnectionCallback<T> callback) throws SQLException {
+        PooledConnection conn = acquire();
+        try {
+            return callback.doInConnection(conn);
+        } finally {
+            release(conn);
+        }
+    }
+
+    // 쓰기용 execute(): group commit 이 켜져 있고 트랜잭션 밖의 DML 이면 다른 쓰기와 묶어서 커밋
+    <T> T executeWrite(String sql, ConnectionCallback<T> callback) throws SQLException {
+        GroupCommitter committer = groupCommitter;
+        if (committer == null || isOpenTransaction() || !GROUPABLE_WRITE.matcher(sql).find()) {
+            return execute(callback);
+        }
+        return committer.execute(callback);
+    }
+
+    // 조회 전용 execute(): replica 가 있으면 replica 풀의 connection 으로 실행
+    <T> T executeRead(String sql, ConnectionCallback<T> callback) throws SQLException {
+        PooledConnection conn = acquireRead(sql);
+        try {
+            return callback.doInConnection(conn);
+        } finally {
+            release(conn);
+        }
+    }
+
+    // connection 당 PreparedStatement 캐시 크기 설정
+    public void setStatementCacheSize(int size) {
+        pool.setStatementCacheSize(size);
+        replicas.getPools().forEach(replica -> replica.setStatementCacheSize(size));
+    }
+
+    // statement 캐시 hit/miss/eviction 통계
+    public StatementCache.Stats getStatementCacheStats() {
+        return pool.getStatementCacheStats();
+    }
+
+    /*
+    SELECT 결과 캐시 켜기
+
+    구현 로직:
+    1. selectRows/selectRow/selectLong 등의 결과를 (SQL + 파라미터) 키로 보관
+    2. Sql.insert/update/delete, run() 으로 쓰기가 일어나면 해당 테이블을 읽는 결과만 제거
+    3. maxEntries 초과 시 LRU 제거, ttlMillis 가 지나면 만료
+
+    - 이 SimpleDb 를 거치지 않은 쓰기(다른 서버, DB 직접 수정)는 ttl 이 지나야 반영됨
+    - 트랜잭션 안의 조회는 캐시를 거치지 않고, 트랜잭션 안의 쓰기는 커밋 시 무효화
+    - replica 에서 읽은 결과는 복제 지연이 있을 수 있으므로 저장하지 않음 (primary 에서 읽은 결과만 저장)
+    */
+    public void enableQueryCache(int maxEntries, long ttlMillis) {
+        queryCache = new QueryResultCache(maxEntries, ttlMillis);
+    }
+
+    public void disableQueryCache() {
+        queryCache = null;
+    }
+
+    // 결과 캐시 통계 (꺼져 있으면 null)
+    public QueryResultCache.Stats getQueryCacheStats() {
+        QueryResultCache cache = queryCache;
+        return cache == null ? null : cache.getStats();
+    }
+
+    QueryResultCache getQueryCache() {
+        return queryCache;
+    }
+
+    /*
+    PK 엔티티 캐시 켜기
+
+    구현 로직:
+    1. selectRow(Class)/selectRows(Class) 의 "SELECT * FROM 테이블 ..." 결과를 (클래스, id) 로 보관
+    2. "SELECT * FROM 테이블 WHERE id = ?" 형태의 selectRow(Class) 는 캐시에서 복사본 반환
+    3. UPDATE/DELETE 가 WHERE id 조건이면 그 id 만, 아니면 테이블 전체 제거
+
+    - 가득 차면 자주 조회되는 엔티티가 남도록 빈도 기반으로 교체 (getEntityCacheStats() 로 크기 조정)
+    - replica 에서 읽은 행은 채우지 않음 (primary 에서 읽은 행만)
+    */
+    public void enableEntityCache(int maxEntries) {
+        entityCache = new EntityCache(maxEntries);
+    }
+
+    public void disableEntityCache() {
+        entityCache = null;
+    }
+
+    // 엔티티 캐시 통계 (꺼져 있으면 null)
+    public EntityCache.Stats getEntityCacheStats() {
+        EntityCache cache = entityCache;
+        return cache == null ? null : cache.getStats();
+    }
+
+    EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /*
+    쓰기 SQL 실행 후 호출: 관련 캐시 무효화
+
+    - 트랜잭션 밖이면 바로 무효화
+    - 트랜잭션 안이면 엔티티는 바로 제거하고, 커밋 시 한 번 더 제거 + 결과 캐시 무효화
+      (커밋 전까지 다른 쓰레드가 이전 값을 다시 캐시할 수 있으므로)
+    - params: 바인딩 파라미터, 배치처럼 한 벌로 정할 수 없으면 null
+    */
+    void afterWrite(String sql, List<Object> params) {
+        markWrite();
+
+        QueryResultCache resultCache = queryCache;
+        EntityCache entities = entityCache;
+        if (resultCache == null && entities == null) {
+            return;
+        }
+
+        Set<String> tables = SqlTables.writtenTables(sql);
+        if (tables != null && tables.isEmpty()) {
+            return;
+        }
+        EntityCache.Eviction eviction = entities == null ? null : EntityCache.evictionFor(sql, params);
+        if (eviction != null) {
+            entities.evict(eviction);
+        }
+
+        TransactionContext pending = transactionContext.get();
+        if (pending != null) {
+            if (tables == null) {
+                pending.tables.add(ALL_TABLES);
+            } else {
+                pending.tables.addAll(tables);
+            }
+            if (eviction != null) {
+                pending.evictions.add(eviction);
+            }
+            return;
+        }
+        invalidateQueryCache(tables);
+    }
+
+    // 커밋된 트랜잭션의 쓰기 반영
+    private void afterCommit(TransactionContext writes) {
+        if (writes == null) {
+            return;
+        }
+        if (!writes.tables.isEmpty()) {
+            invalidateQueryCache(writes.tables);
+        }
+        EntityCache entities = entityCache;
+        if (entities != null) {
+            writes.evictions.forEach(entities::evict);
+        }
+    }
 
-            // 트랜잭션 상태가 아니면 AutoCommit true
-            if (!isOpenTransaction()) {
-                conn.setAutoCommit(true);
+    private void invalidateQueryCache(Set<String> tables) {
+        QueryResultCache cache = queryCache;
+        if (cache == null) {
+            return;
+        }
+        if (tables == null || tables.contains(ALL_TABLES)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(tables);
+        }
+    }
+
+    // 트랜잭션 중이면 트랜잭션 connection, 아니면 풀에서 대여
+    // 직접 호출 시 반드시 release() 로 반납해야 함 (스트리밍 조회처럼 임대 범위가 메서드를 넘어가는 경우용)
+    PooledConnection acquire() throws SQLException {
+        PooledConnection conn = transactionConnection.get();
+        return conn != null ? conn : pool.borrow();
+    }
+
+    // 조회용 acquire(): replica 로 보낼 수 있으면 replica 풀에서 대여, 실패하면 primary
+    PooledConnection acquireRead(String sql) throws SQLException {
+        ConnectionPool replica = readPool(sql);
+        if (replica != null) {
+            try {
+                return replica.borrow();
+            } catch (SQLException e) {
+                // replica 장애/포화: primary 로 실행
             }
         }
-        return conn;
+        return acquire();
+    }
+
+    // 대여한 connection 반납 (트랜잭션 connection 은 commit/rollback 시 반납)
+    // replica connection 도 있으므로 connection 을 만든 풀로 반납
+    void release(PooledConnection conn) {
+        if (conn == null || conn == transactionConnection.get()) {
+            return;
+        }
+        conn.getPool().release(conn);
     }
 
     // thread 트랜잭션 상태 확인(트랜잭션 진행 여부 확인)
-    private boolean isOpenTransaction() {
-        Boolean inTx = openTransaction.get();
-        return inTx != null && inTx;
+    boolean isOpenTransaction() {
+        return transactionConnection.get() != null;
+    }
+
+    // 비동기 실행 executor 변경 (null 이면 기본 가상 쓰레드 executor)
+    // 동시에 실행되는 쿼리 수는 결국 풀 크기로 제한되므로, 보통은 기본값이면 충분
+    public void setAsyncExecutor(Executor executor) {
+        this.asyncExecutor = executor == null ? defaultAsyncExecutor : executor;
+    }
+
+    Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /*
+    큰 IN 목록 나눠 실행 설정 (기본: 1024개씩, 순차 실행)
+
+    - appendIn 의 IN 목록이 chunkSize 를 넘으면 chunkSize 개씩 나눠 실행하고 결과를 이어붙임
+      (AND 로만 묶인 최상위 "컬럼 IN (...)" 만, NOT IN/OR/서브쿼리 안의 IN 은 나누지 않음)
+    - UPDATE/DELETE chunk 는 한 트랜잭션에서 순차 실행
+    - parallel: 트랜잭션 밖의 조회 chunk 를 async executor 로 동시에 실행 (chunk 마다 connection 1개 사용)
+    */
+    public void setInListChunking(int chunkSize, boolean parallel) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다: " + chunkSize);
+        }
+        this.inListChunkSize = chunkSize;
+        this.inListChunkParallel = parallel;
+    }
+
+    /*
+    group commit 켜기 (기본 꺼짐)
+
+    구현 로직:
+    1. 트랜잭션 밖의 Sql.insert/update/delete (배치 포함) 를 바로 실행하지 않고 작업 쓰레드에 넘김
+    2. windowMicros 동안 (최대 maxGroupSize 개) 모인 쓰기를 connection 하나에서 한 트랜잭션으로 실행 후 한 번 커밋
+    3. 각 호출은 자기 문장의 결과(영향받은 행 수, 생성 ID)를 반환
+    4. 그룹 안의 문장이 실패하면 그룹을 롤백하고 각 쓰기를 따로 실행 (실패한 호출만 예외)
+
+    - 쓰기 쓰레드가 많고 문장이 작을 때 커밋(fsync) 횟수를 줄임, 쓰기마다 최대 windowMicros 지연
+    - 동시에 쓰는 쓰레드가 없으면 묶을 것이 없어 바로 실행됨
+
+    사용 예:
+    simpleDb.enableGroupCommit(500, 64);
+    */
+    public void enableGroupCommit(long windowMicros, int maxGroupSize) {
+        GroupCommitter committer = new GroupCommitter(pool, windowMicros, maxGroupSize);
+        GroupCommitter previous = groupCommitter;
+        groupCommitter = committer;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    // 대기 중인 쓰기는 각자 실행하고 끔
+    public void disableGroupCommit() {
+        GroupCommitter committer = groupCommitter;
+        groupCommitter = null;
+        if (committer != null) {
+            committer.close();
+        }
+    }
+
+    // group commit 통계 (꺼져 있으면 null)
+    public GroupCommitter.Stats getGroupCommitStats() {
+        GroupCommitter committer = groupCommitter;
+        return committer == null ? null : committer.getStats();
+    }
+
+    /*
+    write-behind INSERT 버퍼 켜기 (Sql.insertLater() 사용)
+
+    구현 로직:
+    1. insertLater() 는 행을 대기열(최대 capacity 개)에 넣고 바로 반환
+    2. 백그라운드 쓰레드가 batchSize 개가 모이거나 flushIntervalMillis 가 지나면 같은 SQL 끼리 insertBatch 로 기록
+    3. 대기열이 가득 차면 policy 에 따라 기다리거나(BLOCK) 버림(DROP)
+    4. close() 는 그때까지 넣은 행을 기록하고, shutdown()/disableWriteBehind() 는 남은 행을 모두 기록하고 끔
+
+    - 조회수, 로그처럼 생성 ID 가 필요 없고 조금 늦게 반영돼도 되는 INSERT 용
+    - 프로세스가 비정상 종료되면 대기열의 행은 사라짐
+
+    사용 예:
+    simpleDb.enableWriteBehind(10_000, 500, 200, WriteBehindBuffer.OverflowPolicy.DROP);
+    simpleDb.genSql().append("INSERT INTO article_view (articleId, viewedAt) VALUES (?, NOW())", id).insertLater();
+    */
+    public WriteBehindBuffer enableWriteBehind(int capacity, int batchSize, long flushIntervalMillis,
+                                               WriteBehindBuffer.OverflowPolicy policy) {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(this, capacity, batchSize, flushIntervalMillis, policy);
+        WriteBehindBuffer previous = writeBehind;
+        writeBehind = buffer;
+        if (previous != null) {
+            previous.close();
+        }
+        return buffer;
+    }
+
+    // 남은 행을 모두 기록하고 끔
+    public void disableWriteBehind() {
+        WriteBehindBuffer buffer = writeBehind;
+        writeBehind = null;
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    // 지금까지 insertLater() 로 넣은 행이 기록될 때까지 대기 (꺼져 있으면 바로 반환)
+    public void flushWriteBehind() {
+        WriteBehindBuffer buffer = writeBehind;
+        if (buffer != null) {
+            buffer.flush();
+        }
+    }
+
+    // write-behind 대기열 깊이와 기록 시간 (꺼져 있으면 null)
+    public WriteBehindBuffer.Stats getWriteBehindStats() {
+        WriteBehindBuffer buffer = writeBehind;
+        return buffer == null ? null : buffer.getStats();
+    }
+
+    WriteBehindBuffer getWriteBehind() {
+        return writeBehind;
+    }
+
+    int getInListChunkSize() {
+        return inListChunkSize;
+    }
+
+    boolean isInListChunkParallel() {
+        return inListChunkParallel;
+    }
+
+    // 실행 지표 기록 켜기/끄기 (기본 켜짐)
+    public void setMetricsEnabled(boolean enabled) {
+        metrics.setEnabled(enabled);
+    }
+
+    // SQL 템플릿별 실행 지표 스냅샷 (총 실행 시간이 긴 순서)
+    // 요구조건: simpleDb.getMetricsSnapshot().get("SELECT * FROM article WHERE id = ?").calls()
+    public Map<String, SqlMetrics.TemplateStats> getMetricsSnapshot() {
+        return metrics.snapshot();
+    }
+
+    public void resetMetrics() {
+        metrics.reset();
+    }
+
+    SqlMetrics getMetrics() {
+        return metrics;
+    }
+
+    /*
+    느린 쿼리 로그 켜기
+
+    구현 로직:
+    1. connection 대여 ~ 결과 변환까지 걸린 시간이 thresholdMillis 이상인 실행만 기록
+    2. SQL, 파라미터, 시간, 쓰레드, 호출 위치를 링 버퍼에 넣고 백그라운드 쓰레드가 파일에 기록
+
+    - 기본: 파일당 10MB, 5개 보관 / 반환된 객체로 setRedactParameters(), setRotation() 설정
+    - QueryListener 와 달리 쿼리 쓰레드가 I/O 를 기다리지 않음
+
+    사용 예:
+    simpleDb.enableSlowQueryLog(Path.of("logs/slow-query.log"), 200).setRedactParameters(true);
+    */
+    public SlowQueryLog enableSlowQueryLog(Path file, long thresholdMillis) {
+        SlowQueryLog log = new SlowQueryLog(file, thresholdMillis);
+        SlowQueryLog previous = slowQueryLog;
+        slowQueryLog = log;
+        if (previous != null) {
+            previous.close();
+        }
+        return log;
+    }
+
+    // 남은 로그를 기록하고 끔
+    public void disableSlowQueryLog() {
+        SlowQueryLog log = slowQueryLog;
+        slowQueryLog = null;
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /*
+    느린 SELECT 의 실행 계획 자동 수집 켜기
+
+    구현 로직:
+    1. SELECT 가 thresholdMillis 이상 걸리면 같은 SQL/파라미터로 EXPLAIN 을 백그라운드에서 실행
+    2. 같은 템플릿은 intervalMillis 에 한 번만 실행
+    3. 풀 밖의 전용 connection 1개 사용
+
+    사용 예:
+    simpleDb.enableExplainCapture(100, 60_000);
+    simpleDb.getExplainFindings().stream().filter(ExplainCapture.Finding::hasIssues).forEach(System.out::println);
+    */
+    public void enableExplainCapture(long thresholdMillis, long intervalMillis) {
+        ExplainCapture capture = new ExplainCapture(
+                () -> DriverManager.getConnection(dbUrl, username, password), thresholdMillis, intervalMillis);
+        ExplainCapture previous = explainCapture;
+        explainCapture = capture;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public void disableExplainCapture() {
+        ExplainCapture capture = explainCapture;
+        explainCapture = null;
+        if (capture != null) {
+            capture.close();
+        }
+    }
+
+    // 템플릿별 최신 EXPLAIN 결과 (문제가 있는 것 먼저, 꺼져 있으면 빈 목록)
+    public List<ExplainCapture.Finding> getExplainFindings() {
+        ExplainCapture capture = explainCapture;
+        return capture == null ? List.of() : capture.getFindings();
+    }
+
+    ExplainCapture getExplainCapture() {
+        return explainCapture;
     }
 
     // Sql 객체 생성
@@ -68,22 +644,41 @@ public class SimpleDb {
     // SQL 실행용
     // 요구조건: simpleDb.run("DROP TABLE IF EXISTS article")
     public void run(String sql, Object... params) {
+        // [0]: connection 대여 시간, [1]: 실행 시간, [2]: 영향받은 행 수
+        long[] measured = {-1, 0, 0};
+        boolean success = false;
+        JfrEvents.QueryEvent event = new JfrEvents.QueryEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            Connection conn = getConnection();
-
-            if (devMode) {
-                System.out.println("SQL: " + sql);
-                if (params.length > 0) {
-                    System.out.println("Parameters: " + java.util.Arrays.toString(params));
-                }
-            }
-
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            execute(conn -> {
+                long acquired = System.nanoTime();
+                measured[0] = acquired - start;
+                PreparedStatement pstmt = conn.prepareStatement(sql);
                 setParameters(pstmt, params);
-                pstmt.executeUpdate();
-            }
+                measured[2] = pstmt.executeUpdate();
+                measured[1] = System.nanoTime() - acquired;
+                return null;
+            });
+            success = true;
         } catch (SQLException e) {
             throw new RuntimeException("SQL 실행 중 오류 발생", e);
+        } finally {
+            metrics.record(sql, measured[0], measured[1], -1, measured[2], !success);
+            SlowQueryLog log = slowQueryLog;
+            if (log != null) {
+                log.record(sql, Arrays.asList(params), Math.max(measured[0], 0) + measured[1], success);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.sql = SqlMetrics.normalize(sql);
+                event.rows = measured[2];
+                event.acquireDuration = Math.max(measured[0], 0);
+                event.success = success;
+                event.commit();
+            }
+            notifyQuery(sql, Arrays.asList(params), Math.max(measured[0], 0) + measured[1], measured[2], success);
+            afterWrite(sql, Arrays.asList(params));
         }
     }
 
@@ -97,15 +692,23 @@ public class SimpleDb {
     // 트랜잭션 시작
     // 요구조건: simpleDb.startTransaction()
     public void startTransaction() {
-        try {
-            Connection conn = getConnection();
-            conn.setAutoCommit(false);
-            openTransaction.set(true);
+        if (isOpenTransaction()) {
+            return;
+        }
 
-            if (devMode) {
-                System.out.println("Transaction started");
-            }
+        PooledConnection conn = null;
+        try {
+            conn = pool.borrow();
+            conn.getConnection().setAutoCommit(false);
+            transactionConnection.set(conn);
+            TransactionContext context = new TransactionContext();
+            context.event.begin();
+            transactionContext.set(context);
+            notifyTransaction("start");
         } catch (SQLException e) {
+            if (conn != null) {
+                pool.release(conn);
+            }
             throw new RuntimeException("트랜잭션 시작 중 오류 발생", e);
         }
     }
@@ -113,67 +716,174 @@ public class SimpleDb {
     // 트랜잭션 커밋
     // 요구조건: simpleDb.commit()
     public void commit() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) {
+            return;
+        }
+
         try {
-            Connection conn = threadConnection.get();
-            if (conn != null && isOpenTransaction()) {
-                conn.commit();
-                conn.setAutoCommit(true);
-                openTransaction.set(false);
-
-                if (devMode) {
-                    System.out.println("Transaction committed");
-                }
-            }
+            conn.getConnection().commit();
+            markWrite();
+            afterCommit(transactionContext.get());
+            notifyTransaction("commit");
         } catch (SQLException e) {
             throw new RuntimeException("커밋 중 오류 발생", e);
+        } finally {
+            endTransaction(conn, "commit");
         }
     }
 
     // 트랜잭션 롤백
     // 요구조건: simpleDb.rollback()
     public void rollback() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) {
+            return;
+        }
+
         try {
-            Connection conn = threadConnection.get();
-            if (conn != null && isOpenTransaction()) {
-                conn.rollback();
-                conn.setAutoCommit(true);
-                openTransaction.set(false);
-
-                if (devMode) {
-                    System.out.println("Transaction rolled back");
-                }
-            }
+            conn.getConnection().rollback();
+            notifyTransaction("rollback");
         } catch (SQLException e) {
             throw new RuntimeException("롤백 중 오류 발생", e);
+        } finally {
+            endTransaction(conn, "rollback");
+        }
+    }
+
+    // 트랜잭션 종료 후 thread 바인딩 해제 및 풀에 반납 (AutoCommit 복구는 풀에서 처리)
+    private void endTransaction(PooledConnection conn, String outcome) {
+        TransactionContext context = transactionContext.get();
+        transactionConnection.remove();
+        transactionContext.remove();
+        pool.release(conn);
+
+        if (context != null) {
+            context.event.end();
+            if (context.event.shouldCommit()) {
+                context.event.outcome = outcome;
+                context.event.commit();
+            }
         }
     }
 
-    // 현재 스레드의 Connection 닫기
+    /*
+    범위 지정 트랜잭션
+
+    구현 로직:
+    1. 트랜잭션 시작 (이미 진행 중이면 기존 트랜잭션에 참여)
+    2. 작업이 정상 종료되면 커밋, 예외가 발생하면 롤백 후 예외 재전파
+
+    사용 예:
+    long id = simpleDb.transaction(() -> simpleDb.genSql().append(...).insert());
+    */
+    public <T> T transaction(Supplier<T> work) {
+        if (isOpenTransaction()) {
+            return work.get();
+        }
+
+        startTransaction();
+        try {
+            T result = work.get();
+            commit();
+            return result;
+        } catch (RuntimeException | Error e) {
+            rollback();
+            throw e;
+        }
+    }
+
+    public void transaction(Runnable work) {
+        transaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 현재 스레드의 Connection 정리
     // 요구조건: simpleDb.close()
+    // 쿼리용 connection 은 실행 직후 이미 반납되므로, 끝나지 않은 트랜잭션만 롤백 후 반납
+    // write-behind 가 켜져 있으면 그때까지 넣은 행을 먼저 기록
     public void close() {
+        flushWriteBehind();
+
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) {
+            return;
+        }
+
         try {
-            Connection conn = threadConnection.get();
-            if (conn != null && !conn.isClosed()) {
-                conn.close();
-                threadConnection.remove();
-                openTransaction.remove();
-
-                if (devMode) {
-                    System.out.println("Connection closed");
-                }
+            Connection raw = conn.getConnection();
+            if (!raw.isClosed() && !raw.getAutoCommit()) {
+                raw.rollback();
             }
+            notifyTransaction("close");
         } catch (SQLException e) {
             throw new RuntimeException("Connection 닫기 중 오류 발생", e);
+        } finally {
+            endTransaction(conn, "close");
         }
     }
 
-    // SQL conneciton 간접 접근용
-    public Connection getSqlConnection() throws SQLException {
-        return getConnection();
+    // 풀 전체 종료 (애플리케이션 종료 시)
+    public void shutdown() {
+        disableWriteBehind();
+        disableGroupCommit();
+        disableSlowQueryLog();
+        disableExplainCapture();
+        defaultAsyncExecutor.shutdown();
+        pool.close();
+        replicas.close();
     }
-    
+
+    // 풀 상태 조회용
+    ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
     // devMode 상태값 반환
     boolean isDevMode() {
         return devMode;
     }
+
+    // 지금 적용되는 listener (설정한 것 → devMode 면 logging() → 없으면 null)
+    private QueryListener activeListener() {
+        QueryListener listener = queryListener;
+        if (listener == null && devMode) {
+            return QueryListener.logging();
+        }
+        return listener;
+    }
+
+    // SQL 실행 1회 통지 (listener 예외는 쿼리 결과에 영향 주지 않음)
+    void notifyQuery(String sql, List<Object> params, long elapsedNanos, long rows, boolean success) {
+        QueryListener listener = activeListener();
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onQuery(sql, params, elapsedNanos, rows, success);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    private void notifyTransaction(String event) {
+        QueryListener listener = activeListener();
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onTransaction(event);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    // 트랜잭션 한 번 동안의 정보
+    // - tables/evictions: 커밋 시 캐시 무효화할 쓰기 기록 (tables 에 ALL_TABLES 가 있으면 결과 캐시 전체)
+    // - event: 시작부터 종료까지의 JFR 이벤트
+    private static final class TransactionContext {
+        private final Set<String> tables = new HashSet<>();
+        private final List<EntityCache.Eviction> evictions = new ArrayList<>();
+        private final JfrEvents.TransactionEvent event = new JfrEvents.TransactionEvent();
+    }
 }
@@ -0,0 +1,305 @@
+package com.back.simpleDb;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+느린 쿼리 로그 (파일, 비동기)
+
+구현 로직:
+1. 실행이 끝나면 걸린 시간이 threshold 이상인지 확인 (대부분의 쿼리는 여기서 끝)
+2. 느린 쿼리만 SQL, 파라미터, 시간, 쓰레드, 호출 위치(스택)를 담아 링 버퍼에 넣음
+3. 백그라운드 쓰레드 하나가 링 버퍼에서 꺼내 파일에 한 줄씩 기록
+4. 파일이 maxFileBytes 를 넘으면 slow.log → slow.log.1 → slow.log.2 ... 로 돌리고 새 파일 시작
+
+- 링 버퍼: 칸마다 sequence 를 두는 lock-free 큐 (여러 쓰레드가 넣고 writer 하나가 꺼냄)
+- 버퍼가 가득 차면 기다리지 않고 버림 (getDroppedCount()), 쿼리 쓰레드는 파일 I/O 를 절대 기다리지 않음
+- redactParameters: 켜면 파라미터 값 대신 개수만 기록 (개인정보 등)
+- 파일 기록이 실패하면 그 항목은 버리고 getWriteFailureCount()/getLastWriteFailure() 에 남김 (다음 항목에서 파일을 다시 엶)
+*/
+public class SlowQueryLog implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final String LIBRARY_PACKAGE = SlowQueryLog.class.getPackageName();
+
+    private final Path file;
+    private final long thresholdNanos;
+
+    private volatile boolean redactParameters;
+    private volatile long maxFileBytes = 10L * 1024 * 1024;
+    private volatile int maxFiles = 5;
+
+    // 링 버퍼: sequences[i] == 넣을 위치면 빈 칸, 넣을 위치 + 1 이면 값이 있는 칸
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;  // writer 쓰레드만 사용
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private volatile IOException lastWriteFailure;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    SlowQueryLog(Path file, long thresholdMillis) {
+        this(file, thresholdMillis, DEFAULT_CAPACITY);
+    }
+
+    SlowQueryLog(Path file, long thresholdMillis, int capacity) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("thresholdMillis 는 0 이상이어야 합니다: " + thresholdMillis);
+        }
+        this.file = file;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.writer = Thread.ofPlatform().daemon().name("simpleDb-slow-query-log").unstarted(this::writeLoop);
+        writer.start();
+    }
+
+    // 켜면 파라미터 값 대신 "[REDACTED x 개수]" 로 기록
+    public SlowQueryLog setRedactParameters(boolean redactParameters) {
+        this.redactParameters = redactParameters;
+        return this;
+    }
+
+    // 파일 하나의 최대 크기, 보관할 파일 개수 (현재 파일 포함)
+    public SlowQueryLog setRotation(long maxFileBytes, int maxFiles) {
+        if (maxFileBytes < 1 || maxFiles < 1) {
+            throw new IllegalArgumentException("maxFileBytes, maxFiles 는 1 이상이어야 합니다");
+        }
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        return this;
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // 파일 기록에 실패해서 버린 항목 수
+    public long getWriteFailureCount() {
+        return writeFailures.sum();
+    }
+
+    // 마지막 파일 기록 실패 원인 (없으면 null)
+    public IOException getLastWriteFailure() {
+        return lastWriteFailure;
+    }
+
+    /*
+    실행 1회 보고 (쿼리 쓰레드에서 호출)
+
+    - threshold 미만이면 바로 반환 (할당 없음)
+    - 느린 쿼리만 파라미터 복사와 스택 탐색을 함
+    */
+    void record(String sql, List<Object> params, long durationNanos, boolean success) {
+        if (durationNanos < thresholdNanos || !running) {
+            return;
+        }
+        Object[] values = params == null ? null : params.toArray();
+        Thread thread = Thread.currentThread();
+        // 가상 쓰레드는 보통 이름이 없으므로 id 로 표시
+        String threadName = thread.getName().isEmpty() ? "#" + thread.threadId() : thread.getName();
+        offer(new Entry(System.currentTimeMillis(), durationNanos, sql, values, success, threadName, origin()));
+    }
+
+    // 링 버퍼에 넣기, 가득 차 있으면 버림
+    private void offer(Entry entry) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1);
+                    return;
+                }
+            } else if (sequence < position) {
+                dropped.increment();  // writer 가 아직 못 꺼낸 칸 = 가득 참
+                return;
+            }
+            // 다른 쓰레드가 먼저 가져감 → 다시 시도
+        }
+    }
+
+    // writer 쓰레드 전용
+    private Entry poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Entry entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + capacity);
+        head++;
+        return entry;
+    }
+
+    private void writeLoop() {
+        BufferedWriter out = null;
+        long size = 0;
+        while (running || sequences.get((int) head & mask) == head + 1) {
+            Entry entry = poll();
+            try {
+                if (entry == null) {
+                    if (out != null) {
+                        out.flush();
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                    continue;
+                }
+
+                if (out == null) {
+                    out = open();
+                    size = Files.size(file);
+                }
+                String line = entry.format(redactParameters);
+                out.write(line);
+                out.newLine();
+                size += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                written.increment();
+
+                if (size >= maxFileBytes) {
+                    out.close();
+                    out = null;
+                    rotate();
+                }
+            } catch (IOException e) {
+                // 버퍼에 남은 줄도 잃었을 수 있으므로 파일을 닫고 다음 항목에서 다시 엶
+                writeFailures.increment();
+                lastWriteFailure = e;
+                closeQuietly(out);
+                out = null;
+            }
+        }
+        closeQuietly(out);
+    }
+
+    private static void closeQuietly(BufferedWriter out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // slow.log.(n-1) → slow.log.n, ..., slow.log → slow.log.1 (가장 오래된 파일은 삭제)
+    private void rotate() throws IOException {
+        int keep = maxFiles - 1;
+        if (keep == 0) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Files.deleteIfExists(rotated(keep));
+        for (int i = keep - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    // 남은 로그를 모두 기록하고 writer 종료
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // SimpleDb 내부를 제외한 첫 호출 위치 (예: com.back.ArticleService.findById(ArticleService.java:42))
+    private static String origin() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .filter(frame -> !isInternal(frame.getDeclaringClass()))
+                .findFirst()
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("unknown"));
+    }
+
+    /*
+    호출 위치에서 제외할 frame: JDK(java.*, jdk.*)와 SimpleDb 라이브러리(com.back.simpleDb.*) 전체
+
+    - 같은 패키지라도 라이브러리와 다른 위치에서 로드된 클래스(예: 테스트)는 호출 위치로 봄
+    */
+    private static boolean isInternal(Class<?> type) {
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("jdk.")) {
+            return true;
+        }
+        return type.getPackageName().startsWith(LIBRARY_PACKAGE) && sameCodeSource(type);
+    }
+
+    private static boolean sameCodeSource(Class<?> type) {
+        CodeSource library = SlowQueryLog.class.getProtectionDomain().getCodeSource();
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        return library == null || source == null || Objects.equals(library.getLocation(), source.getLocation());
+    }
+
+    private record Entry(long timestamp, long durationNanos, String sql, Object[] params, boolean success,
+                         String thread, String origin) {
+        String format(boolean redact) {
+            String parameters = params == null ? "[batch]"
+                    : redact ? "[REDACTED x" + params.length + "]"
+                    : Arrays.toString(params);
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault())
+                    + " duration=" + String.format("%.3fms", durationNanos / 1_000_000.0)
+                    + " success=" + success
+                    + " thread=" + thread
+                    + " origin=" + origin
+                    + " sql=\"" + sql.replaceAll("\\s+", " ").trim() + "\""
+                    + " params=" + parameters;
+        }
+    }
+}
@@ -1,23 +1,86 @@
 package com.back.simpleDb;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Sql {
     private final SimpleDb simpleDb;
     private final StringBuilder sqlBuilder = new StringBuilder();
-    private final List<Object> parameters = new ArrayList<>();
+    private final List<Object> parameters;
+    // PreparedQuery 로 만든 경우 미리 컴파일된 SQL (append 불가, 실행마다 문자열을 만들지 않음)
+    private final String preparedSql;
+
+    // addBatch()로 쌓은 파라미터 묶음
+    private final List<Object[]> batchParameters = new ArrayList<>();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // 실행 중인 statement (비동기 실행 취소 시 cancel() 대상)
+    // connection 을 빌린 동안에만 설정 (반납 후에는 다른 사용자의 캐시된 statement 이므로 취소하면 안 됨)
+    private Statement runningStatement;
+    // runningStatement 설정/해제와 cancel() 이 겹치지 않도록 (cancel 은 I/O 라서 synchronized 대신 사용)
+    private final ReentrantLock statementLock = new ReentrantLock();
+
+    // 마지막 실행의 단계별 시간(나노초, 측정 안 한 단계는 -1)과 행 수 (SqlMetrics 기록용)
+    private long acquireNanos;
+    private long executeNanos;
+    private long mappingNanos;
+    private long rowCount;
+    // 마지막 조회를 replica 가 처리했는지 (복제 지연이 있으므로 결과 캐시/엔티티 캐시에 넣지 않음)
+    private boolean servedByReplica;
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // appendIn 의 ? 바로 앞이 "IN (" / "FIELD(컬럼, " 인지 (패딩해도 결과가 같은 곳)
+    private static final Pattern IN_LIST_START = Pattern.compile("(?i)\\bIN\\s*\\(\\s*$");
+    private static final Pattern FIELD_LIST_START = Pattern.compile("(?i)\\bFIELD\\s*\\([^()]*,\\s*$");
+    // chunk 결과를 이어붙이면 의미가 달라지는 문장
+    // (OR/XOR 가 있으면 IN 이 AND 로만 묶였다고 볼 수 없음, JOIN ... ON 조건의 IN 은 chunk 마다 바깥 행을 다시 돌려줌)
+    private static final Pattern NOT_CHUNKABLE = Pattern.compile(
+            "(?i)\\b(?:ORDER\\s+BY|GROUP\\s+BY|LIMIT|DISTINCT|HAVING|UNION|OR|XOR|JOIN|ON)\\b|\\|\\||\\b(?:COUNT|SUM|AVG|MIN|MAX)\\s*\\(");
+    // NOT IN ( / NOT 컬럼 IN ( : 나눠 실행하면 chunk 마다 나머지 값을 모두 통과시킴
+    private static final Pattern NOT_IN_LIST_START = Pattern.compile("(?i)\\bNOT\\s+(?:[\\w.`]+\\s+)?IN\\s*\\(\\s*$");
+    private static final Pattern WHERE = Pattern.compile("(?i)\\bWHERE\\b");
+
+    // appendIn 으로 넣은 chunkSize 초과 IN 목록 (두 개 이상이면 나누지 않음)
+    private InList inList;
+    private boolean multipleInLists;
 
     // SimpleDb.java의 객체 생성
     public Sql(SimpleDb simpleDb) {
         this.simpleDb = simpleDb;
+        this.parameters = new ArrayList<>();
+        this.preparedSql = null;
+    }
+
+    // PreparedQuery.bind() 용: SQL 과 파라미터가 이미 정해진 Sql
+    Sql(SimpleDb simpleDb, String preparedSql, List<Object> parameters) {
+        this.simpleDb = simpleDb;
+        this.parameters = parameters;
+        this.preparedSql = preparedSql;
+    }
+
+    // 실행할 SQL (PreparedQuery 면 컴파일된 문자열 그대로)
+    private String sql() {
+        return preparedSql != null ? preparedSql : sqlBuilder.toString();
     }
 
     public Sql append(String sql) {
+        if (preparedSql != null) {
+            throw new IllegalStateException("PreparedQuery 로 만든 Sql 에는 append 할 수 없습니다");
+        }
         if(sqlBuilder.length() > 0) {
             sqlBuilder.append(" ");
         }
@@ -41,21 +104,27 @@ public class Sql {
         }
     }
 
+    private void setParameters(PreparedStatement pstmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            pstmt.setObject(i + 1, params[i]);
+        }
+    }
+
     // INSERT 메서드
     public long insert() {
-        try{
-            Connection conn = simpleDb.getSqlConnection();
-            String sql = sqlBuilder.toString();
+        String sql = sql();
 
-            if(simpleDb.isDevMode()) {
-                System.out.println("SQL: " + sql);
-                System.out.println("Parameters: " + parameters);
-            }
-
-            // AUTO_INCREMENT ID 요청 -> Statement.RETURN_GENERATED_KEYS
-            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        boolean success = false;
+        try{
+            long id = execute(sql, false, conn -> {
+                // AUTO_INCREMENT ID 요청 -> Statement.RETURN_GENERATED_KEYS
+                // statement 는 connection 별 캐시에 있으므로 닫지 않음 (ResultSet 만 닫음)
+                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
                 setParameters(pstmt);
-                pstmt.executeUpdate();
+                startStatement(pstmt);
+                long start = System.nanoTime();
+                rowCount = pstmt.executeUpdate();
+                executeNanos = System.nanoTime() - start;
 
                 // AUTO_INCREMENT ID 반환
                 try (ResultSet rs = pstmt.getGeneratedKeys()) {
@@ -63,10 +132,15 @@ public class Sql {
                         return rs.getLong(1);
                     }
                 }
-            }
-            return 0;
+                return 0L;
+            });
+            success = true;
+            return id;
         } catch (SQLException e) {
             throw new RuntimeException("INSERT 오류 발생", e);
+        } finally {
+            recordMetrics(sql, success);
+            simpleDb.afterWrite(sql, parameters);
         }
     }
 
@@ -80,24 +154,147 @@ public class Sql {
         return executeUpdate();
     }
 
+    // 배치 파라미터 한 묶음 추가 (SQL 의 ? 개수만큼)
+    // 요구조건: sql.append("INSERT INTO article (title, body) VALUES (?, ?)").addBatch("제목1", "내용1").addBatch(...)
+    public Sql addBatch(Object... params) {
+        batchParameters.add(params);
+        return this;
+    }
+
+    // executeBatch 1회에 보낼 최대 묶음 수 (max_allowed_packet 초과 방지)
+    public Sql setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize 는 1 이상이어야 합니다: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /*
+    배치 INSERT, 생성된 AUTO_INCREMENT ID 를 모두 반환
+
+    구현 로직:
+    1. addBatch()로 쌓은 묶음을 batchSize 단위로 나눔
+    2. 묶음마다 파라미터 바인딩 후 pstmt.addBatch(), 한 덩어리씩 executeBatch()
+    3. getGeneratedKeys()로 덩어리별 ID 를 이어붙여 long[] 로 반환
+
+    - URL 의 rewriteBatchedStatements=true 로 "INSERT ... VALUES (?, ?)" 는
+      드라이버가 multi-row INSERT 한 번으로 재작성 (INSERT ... SET 형식은 재작성되지 않음)
+    - 트랜잭션 밖에서는 덩어리마다 커밋됨, 전체를 원자적으로 하려면 트랜잭션 안에서 호출
+    */
+    public long[] insertBatch() {
+        return executeBatch(true);
+    }
+
+    // 배치 UPDATE/DELETE, 묶음별 영향받은 row 개수 반환
+    public int[] updateBatch() {
+        long[] counts = executeBatch(false);
+        int[] result = new int[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = (int) counts[i];
+        }
+        return result;
+    }
+
+    // 배치 실행 공통 메서드 (returnKeys: true 면 생성 ID, false 면 영향받은 row 개수)
+    private long[] executeBatch(boolean returnKeys) {
+        if (!parameters.isEmpty()) {
+            throw new IllegalStateException("배치 실행 시 파라미터는 addBatch()로만 전달해야 합니다");
+        }
+
+        String sql = sql();
+        int total = batchParameters.size();
+
+        if (total == 0) {
+            return new long[0];
+        }
+
+        boolean success = false;
+        try {
+            long[] keysOrCounts = execute(sql, false, conn -> {
+                long[] result = new long[total];
+                PreparedStatement pstmt = returnKeys
+                        ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                        : conn.prepareStatement(sql);
+                startStatement(pstmt);
+
+                try {
+                    for (int from = 0; from < total; from += batchSize) {
+                        int to = Math.min(from + batchSize, total);
+
+                        for (int i = from; i < to; i++) {
+                            setParameters(pstmt, batchParameters.get(i));
+                            pstmt.addBatch();
+                        }
+                        long start = System.nanoTime();
+                        int[] counts = pstmt.executeBatch();
+                        executeNanos += System.nanoTime() - start;
+                        rowCount += to - from;
+
+                        if (returnKeys) {
+                            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                                int i = from;
+                                while (i < to && rs.next()) {
+                                    result[i++] = rs.getLong(1);
+                                }
+                            }
+                        } else {
+                            for (int i = 0; i < counts.length; i++) {
+                                result[from + i] = counts[i];
+                            }
+                        }
+                    }
+                } finally {
+                    // 캐시된 statement 에 실패한 배치가 남지 않도록 정리
+                    pstmt.clearBatch();
+                }
+                return result;
+            });
+            success = true;
+            return keysOrCounts;
+        } catch (SQLException e) {
+            throw new RuntimeException("배치 실행 오류 발생", e);
+        } finally {
+            recordMetrics(sql, success);
+            simpleDb.afterWrite(sql, null);
+        }
+    }
+
     // INSERT/UPDATE/DELETE 쿼리 실행 공통 메서드
     private int executeUpdate() {
-        try {
-            Connection conn = simpleDb.getSqlConnection();
-            String sql = sqlBuilder.toString();
+        List<Sql> chunks = inListChunks();
+        if (chunks != null) {
+            // 쓰기 chunk 는 한 트랜잭션에서 순차 실행 (중간에 실패하면 앞 chunk 도 롤백, 이미 트랜잭션 중이면 참여)
+            return simpleDb.transaction(() -> {
+                int affected = 0;
+                for (Sql chunk : chunks) {
+                    affected += chunk.executeUpdate();
+                }
+                return affected;
+            });
+        }
 
-            if (simpleDb.isDevMode()) {
-                System.out.println("SQL: " + sql);
-                System.out.println("Parameters: " + parameters);
-            }
+        String sql = sql();
 
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        boolean success = false;
+        try {
+            int affected = execute(sql, false, conn -> {
+                PreparedStatement pstmt = conn.prepareStatement(sql);
                 setParameters(pstmt);
-                return pstmt.executeUpdate();
-            }
-
+                startStatement(pstmt);
+                long start = System.nanoTime();
+                int count = pstmt.executeUpdate();
+                executeNanos = System.nanoTime() - start;
+                rowCount = count;
+                return count;
+            });
+            success = true;
+            return affected;
         } catch (SQLException e) {
             throw new RuntimeException("SQL 실행 오류");
+        } finally {
+            recordMetrics(sql, success);
+            simpleDb.afterWrite(sql, parameters);
         }
     }
 
@@ -111,116 +308,281 @@ public class Sql {
 
     executeQuery(): SELECT 전용, ResultSet 반환
     ResultSet.next(): 다음 행으로 이동, 없으면 false
-    LinkedHashMap: 컬럼 순서 유지
+    RowSchema: 컬럼 이름/순서를 결과 집합당 한 번만 읽어서 모든 행이 공유
     */
     public List<Map<String, Object>> selectRows() {
-        List<Map<String, Object>> rows = new ArrayList<>();
+        return cached("rows", () -> query(Sql::mapRowMapper), QueryResultCache::freezeRows);
+    }
 
-        try {
-            Connection conn = simpleDb.getSqlConnection();
-            String sql = sqlBuilder.toString();
+    // Map 행 변환기 (결과 집합당 RowSchema 한 번 생성)
+    private static RowMapper<Map<String, Object>> mapRowMapper(ResultSet rs) throws SQLException {
+        RowSchema schema = RowSchema.of(rs);
+        return row -> resultSetToMap(row, schema);
+    }
 
-            if (simpleDb.isDevMode()) {
-                System.out.println("SQL: " + sql);
-                System.out.println("Parameters: " + parameters);
-            }
+    // ResultSet 전체를 읽어 결과 하나로 만드는 작업
+    @FunctionalInterface
+    private interface ResultSetReader<R> {
+        R read(ResultSet rs) throws SQLException;
+    }
+
+    /*
+    SELECT 실행 공통 메서드
 
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    구현 로직:
+    1. 캐시된 statement 에 파라미터 바인딩 후 executeQuery()
+    2. firstRowOnly 면 setMaxRows(1)로 서버에서 1행만 받도록 제한
+    3. reader 가 ResultSet 을 읽어 결과 생성
+    4. 캐시된 statement 이므로 maxRows 는 finally 에서 원래대로 복구
+    */
+    private <R> R executeQuery(boolean firstRowOnly, ResultSetReader<R> reader) {
+        String sql = sql();
+
+        boolean success = false;
+        try {
+            R result = execute(sql, true, conn -> {
+                PreparedStatement pstmt = conn.prepareStatement(sql);
                 setParameters(pstmt);
+                if (firstRowOnly) {
+                    pstmt.setMaxRows(1);
+                }
+                startStatement(pstmt);
 
+                long start = System.nanoTime();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        rows.add(resultSetToMap(rs));
+                    long mappingStart = System.nanoTime();
+                    executeNanos = mappingStart - start;
+                    R value = reader.read(rs);
+                    mappingNanos = System.nanoTime() - mappingStart;
+                    rowCount = rowCount(value);
+                    return value;
+                } finally {
+                    if (firstRowOnly) {
+                        pstmt.setMaxRows(0);
                     }
                 }
-            }
+            });
+            success = true;
+            return result;
         } catch (SQLException e) {
-            throw new RuntimeException("SELECT 오류 발생");
+            throw new RuntimeException("SELECT 오류 발생", e);
+        } finally {
+            recordMetrics(sql, success);
+        }
+    }
+
+    /*
+    connection 대여 시간을 재면서 실행
+
+    - 단계별 시간/행 수 필드를 초기화하고, 대여가 끝난 시점까지를 acquireNanos 로 기록
+    - execute/mapping 시간과 행 수는 callback 안에서 채움
+    - read: 조회면 true (replica 가 있으면 replica 에서 실행될 수 있음)
+    - 쓰기는 group commit 이 켜져 있으면 다른 쓰기와 묶여 실행될 수 있음 (대기 시간은 acquireNanos 에 포함)
+    */
+    private <T> T execute(String sql, boolean read, SimpleDb.ConnectionCallback<T> callback) throws SQLException {
+        acquireNanos = -1;
+        executeNanos = 0;
+        mappingNanos = -1;
+        rowCount = 0;
+        servedByReplica = false;
+
+        JfrEvents.QueryEvent event = new JfrEvents.QueryEvent();
+        event.begin();
+        boolean success = false;
+        long start = System.nanoTime();
+        try {
+            SimpleDb.ConnectionCallback<T> timed = conn -> {
+                acquireNanos = System.nanoTime() - start;
+                servedByReplica = conn.getPool() != simpleDb.getConnectionPool();
+                try {
+                    return callback.doInConnection(conn);
+                } finally {
+                    // connection 반납 전에 해제 (이후의 cancel() 은 아무것도 하지 않음)
+                    endStatement();
+                }
+            };
+            T result = read ? simpleDb.executeRead(sql, timed) : simpleDb.executeWrite(sql, timed);
+            success = true;
+            return result;
+        } finally {
+            commitEvent(event, sql, success);
         }
+    }
 
-        return rows;
+    // JFR 녹화 중이고 threshold 를 넘은 경우에만 값 채워서 기록
+    private void commitEvent(JfrEvents.QueryEvent event, String sql, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = SqlMetrics.normalize(sql);
+            event.rows = rowCount;
+            event.acquireDuration = Math.max(acquireNanos, 0);
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    // 실행 지표 기록 + 느린 쿼리 로그 (batch 는 파라미터가 여러 벌이라 null)
+    private void recordMetrics(String sql, boolean success) {
+        simpleDb.getMetrics().record(sql, acquireNanos, executeNanos, mappingNanos, rowCount, !success);
+
+        SlowQueryLog slowQueryLog = simpleDb.getSlowQueryLog();
+        if (slowQueryLog != null) {
+            long totalNanos = Math.max(acquireNanos, 0) + executeNanos + Math.max(mappingNanos, 0);
+            slowQueryLog.record(sql, batchParameters.isEmpty() ? parameters : null, totalNanos, success);
+        }
+
+        ExplainCapture explainCapture = simpleDb.getExplainCapture();
+        if (explainCapture != null && success) {
+            long totalNanos = Math.max(acquireNanos, 0) + executeNanos + Math.max(mappingNanos, 0);
+            explainCapture.onQuery(sql, parameters, totalNanos);
+        }
+
+        long elapsedNanos = Math.max(acquireNanos, 0) + executeNanos + Math.max(mappingNanos, 0);
+        simpleDb.notifyQuery(sql, Collections.unmodifiableList(batchParameters.isEmpty() ? parameters : List.of()),
+                elapsedNanos, rowCount, success);
+    }
+
+    // 조회 결과의 행 수 (List/배열/ColumnarResult 는 크기, null 은 0, 단건은 1)
+    private static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof ColumnarResult columnar) {
+            return columnar.rowCount();
+        }
+        if (result instanceof long[] values) {
+            return values.length;
+        }
+        if (result instanceof int[] values) {
+            return values.length;
+        }
+        if (result instanceof double[] values) {
+            return values.length;
+        }
+        return 1;
+    }
+
+    /*
+    결과 캐시를 거쳐 조회 (SimpleDb.enableQueryCache() 로 켠 경우만)
+
+    - 트랜잭션 안에서는 커밋 전 데이터를 볼 수 있으므로 캐시를 쓰지 않음
+    - kind: 같은 SQL 이라도 selectRows/selectLong 등 결과 형태가 다르므로 키에 포함
+    - freeze: 여러 호출자가 공유하므로 수정할 수 없는 형태로 바꿔서 저장
+    - replica 가 처리한 조회 결과는 복제 지연으로 오래된 값일 수 있으므로 반환만 하고 저장하지 않음
+    */
+    private <R> R cached(String kind, Supplier<R> loader, UnaryOperator<R> freeze) {
+        QueryResultCache cache = simpleDb.getQueryCache();
+        if (cache == null || simpleDb.isOpenTransaction()) {
+            return loader.get();
+        }
+        return cache.get(kind, sql(), parameters, loader, freeze, () -> !servedByReplica);
+    }
+
+    // 모든 행을 mapperFactory 가 만든 변환기로 변환해서 List 로 반환
+    private <T> List<T> query(RowMapperFactory<T> mapperFactory) {
+        List<Sql> chunks = inListChunks();
+        if (chunks != null) {
+            List<T> rows = new ArrayList<>();
+            runChunks(chunks, chunk -> chunk.query(mapperFactory)).forEach(rows::addAll);
+            servedByReplica = chunks.stream().anyMatch(chunk -> chunk.servedByReplica);
+            return rows;
+        }
+        return executeQuery(false, rs -> {
+            List<T> rows = new ArrayList<>();
+            RowMapper<T> mapper = createMapper(mapperFactory, rs);
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
+            return rows;
+        });
+    }
+
+    // 첫 번째 행만 변환해서 반환 (없으면 null)
+    private <T> T queryFirst(RowMapperFactory<T> mapperFactory) {
+        return executeQuery(true, rs -> rs.next() ? createMapper(mapperFactory, rs).map(rs) : null);
     }
 
     /*
     구현 로직:
-    1. selectRows() 호출
+    1. queryFirst()로 첫 번째 행만 조회
     2. 첫 번째 행 반환 (없으면 null)
     */
     public Map<String, Object> selectRow() {
-        List<Map<String, Object>> rows = selectRows();
-        return rows.isEmpty() ? null : rows.get(0);
+        return cached("row", () -> queryFirst(Sql::mapRowMapper), QueryResultCache::freezeRow);
     }
 
     /*
     ResultSet을 Map으로 변환
 
     구현 로직:
-    1. ResultSetMetaData로 컬럼 정보 가져오기
-    2. 각 컬럼 이름과 값을 Map에 저장
+    1. 컬럼 정보는 미리 만들어 둔 RowSchema 에서 가져옴 (행마다 메타데이터 조회 X)
+    2. 값만 Object[] 에 담아 CompactRow 로 감쌈
 
-    - ResultSetMetaData: 컬럼 이름, 타입, 개수 등 메타정보
-    - getColumnCount(): 컬럼 개수
-    - getColumnName(i): i번째 컬럼명 (1부터 시작)
     - getObject(i): i번째 컬럼 값 (타입 매핑 자동)
+    - CompactRow: 컬럼 순서를 유지하는 Map, 행마다 Entry 객체를 만들지 않음
     */
-    private Map<String, Object> resultSetToMap(ResultSet rs) throws SQLException {
-        Map<String, Object> map = new LinkedHashMap<>();
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
+    static Map<String, Object> resultSetToMap(ResultSet rs, RowSchema schema) throws SQLException {
+        return schema.read(rs);
+    }
 
-        for (int i = 1; i <= columnCount; i++) {
-            String columnName = metaData.getColumnName(i);
-            Object value = rs.getObject(i);
-            map.put(columnName, value);
+    // 첫 번째 컬럼 단일 값 변환기 (Map 없이 getObject(1) 로 바로 읽음, 호출마다 새로 만들지 않도록 상수로 보관)
+    // 변환 규칙은 Map 으로 읽던 때와 같음 (숫자가 아니면 null, 문자열은 toString(), true 는 1 일 때만)
+    private static final RowMapperFactory<Long> FIRST_LONG = rs -> row -> toLong(row.getObject(1));
+    private static final RowMapperFactory<String> FIRST_STRING = rs -> row -> {
+        Object value = row.getObject(1);
+        return value != null ? value.toString() : null;
+    };
+    private static final RowMapperFactory<Boolean> FIRST_BOOLEAN = rs -> row -> {
+        Object value = row.getObject(1);
+        if (value instanceof Boolean bool) {
+            return bool;
         }
+        return value instanceof Number number ? number.intValue() == 1 : null;
+    };
+    private static final RowMapperFactory<LocalDateTime> FIRST_DATETIME = rs -> row -> {
+        Object value = row.getObject(1);
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : null;
+    };
 
-        return map;
+    // 숫자면 long 값, 아니면(NULL, 문자열 등) null
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
     }
 
     /*
     Long 타입 단일 값 조회
 
     구현 로직:
-    1. selectRow()로 첫 번째 행 조회
-    2. 첫 번째 컬럼 값을 Long으로 변환
-
-    - Map.values(): 모든 값의 Collection 반환
-    - iterator().next(): 첫 번째 값 가져오기
-    - instanceof: 타입 체크
-    - Number.longValue(): Long으로 변환
+    1. queryFirst()로 첫 번째 행만 조회
+    2. 첫 번째 컬럼을 getObject()로 바로 읽어 숫자면 long 으로 변환 (NULL, 숫자가 아니면 null)
     */
     public Long selectLong() {
-        Map<String, Object> row = selectRow();
-        if (row == null || row.isEmpty()) return null;
-
-        Object value = row.values().iterator().next();
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
-        }
-        return null;
+        return cached("long", () -> queryFirst(FIRST_LONG), value -> value);
     }
 
     /*
     String 타입 단일 값 조회
 
     구현 로직:
-    1. selectRow()로 첫 번째 행 조회
-    2. 첫 번째 컬럼 값을 String으로 변환
+    1. queryFirst()로 첫 번째 행만 조회
+    2. 첫 번째 컬럼을 getObject()로 바로 읽어 toString() (DATETIME 은 LocalDateTime.toString() 형식)
     */
     public String selectString() {
-        Map<String, Object> row = selectRow();
-        if (row == null || row.isEmpty()) return null;
-
-        Object value = row.values().iterator().next();
-        return value != null ? value.toString() : null;
+        return cached("string", () -> queryFirst(FIRST_STRING), value -> value);
     }
 
     /*
     Boolean 타입 단일 값 조회
 
     구현 로직:
-    1. Boolean 타입: 그대로 반환
-    2. Number 타입: 1이면 true, 0이면 false
+    1. queryFirst()로 첫 번째 행만 조회
+    2. 첫 번째 컬럼을 getObject()로 바로 읽음 (Boolean 은 그대로, 숫자는 1 이면 true 그 외는 false, 숫자가 아니면 null)
 
     MySQL 타입 변환:
     - BIT(1) → Boolean
@@ -228,126 +590,711 @@ public class Sql {
     - 1=1, 1=0 같은 표현식 → Boolean
     */
     public Boolean selectBoolean() {
-        Map<String, Object> row = selectRow();
-        if (row == null || row.isEmpty()) return null;
-
-        Object value = row.values().iterator().next();
-        if (value instanceof Boolean) {
-            return (Boolean) value;
-        } else if (value instanceof Number) {
-            return ((Number) value).intValue() == 1;
-        }
-        return null;
+        return cached("boolean", () -> queryFirst(FIRST_BOOLEAN), value -> value);
     }
 
     /*
     LocalDateTime 타입 단일 값 조회
 
     구현 로직:
-    1. LocalDateTime 타입: 그대로 반환
-    2. Timestamp 타입: toLocalDateTime()으로 변환
+    1. queryFirst()로 첫 번째 행만 조회
+    2. getObject()로 바로 읽음 (LocalDateTime 은 그대로, Timestamp 는 toLocalDateTime(), 그 외는 null)
     */
     public LocalDateTime selectDatetime() {
-        Map<String, Object> row = selectRow();
-        if (row == null || row.isEmpty()) return null;
-
-        Object value = row.values().iterator().next();
-        if (value instanceof LocalDateTime) {
-            return (LocalDateTime) value;
-        } else if (value instanceof Timestamp) {
-            return ((Timestamp) value).toLocalDateTime();
-        }
-        return null;
+        return cached("datetime", () -> queryFirst(FIRST_DATETIME), value -> value);
     }
 
     /*
     Long 리스트 조회
 
     구현 로직:
-    1. selectRows()로 모든 행 조회
-    2. 각 행의 첫 번째 컬럼을 Long으로 변환
-    3. List에 담기
+    1. 첫 번째 컬럼 타입(ResultSetMetaData)을 보고 읽는 방법을 결과마다 한 번만 정함
+       - 정수/DECIMAL 컬럼: rs.getLong(1) + wasNull() 로 박싱 없이 읽음 (NULL 은 건너뜀)
+       - 그 외 컬럼: rs.getObject(1) 이 숫자일 때만 담음 (NULL, 숫자가 아닌 값은 건너뜀)
+    2. LongList(long[] 기반)에 담아 반환
+
+    - 중간 Map 없음, 값은 get() 으로 꺼낼 때만 Long 으로 박싱
     */
     public List<Long> selectLongs() {
-        List<Map<String, Object>> rows = selectRows();
-        List<Long> result = new ArrayList<>();
+        return this.<List<Long>>cached("longs", this::selectLongList, QueryResultCache::freezeList);
+    }
 
-        for (Map<String, Object> row : rows) {
-            Object value = row.values().iterator().next();
-            if (value instanceof Number) {
-                result.add(((Number) value).longValue());
+    public LongList selectLongList() {
+        List<Sql> chunks = inListChunks();
+        if (chunks != null) {
+            LongList result = new LongList();
+            for (LongList values : runChunks(chunks, Sql::selectLongList)) {
+                for (int i = 0; i < values.size(); i++) {
+                    result.addLong(values.getLong(i));
+                }
             }
+            servedByReplica = chunks.stream().anyMatch(chunk -> chunk.servedByReplica);
+            return result;
         }
+        return executeQuery(false, rs -> {
+            LongList result = new LongList();
+            if (isIntegral(rs.getMetaData().getColumnType(1))) {
+                while (rs.next()) {
+                    long value = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        result.addLong(value);
+                    }
+                }
+                return result;
+            }
+            while (rs.next()) {
+                if (rs.getObject(1) instanceof Number number) {
+                    result.addLong(number.longValue());
+                }
+            }
+            return result;
+        });
+    }
 
-        return result;
+    // getLong() 으로 읽어도 getObject() 후 longValue() 와 같은 값이 나오는 컬럼 타입
+    private static boolean isIntegral(int columnType) {
+        return switch (columnType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.DECIMAL, Types.NUMERIC -> true;
+            default -> false;
+        };
+    }
+
+    /*
+    컬럼 단위 조회 (집계/리포트용)
+
+    구현 로직:
+    1. 행 Map 대신 컬럼마다 primitive 배열/사전 인코딩 배열에 값을 채움
+    2. NULL 은 컬럼별 BitSet 으로 표시
+
+    사용 예:
+    ColumnarResult result = sql.append("SELECT id, title, createdDate FROM article").selectColumnar();
+    long[] ids = result.longs("id");
+    */
+    public ColumnarResult selectColumnar() {
+        return executeQuery(false, ColumnarResult::read);
+    }
+
+    // 첫 번째 컬럼을 long[] 로 조회 (NULL 은 건너뜀)
+    public long[] selectLongArray() {
+        return selectLongList().toLongArray();
+    }
+
+    // 첫 번째 컬럼을 int[] 로 조회 (NULL 은 건너뜀)
+    public int[] selectIntArray() {
+        return executeQuery(false, rs -> {
+            int[] result = new int[16];
+            int size = 0;
+            while (rs.next()) {
+                int value = rs.getInt(1);
+                if (rs.wasNull()) {
+                    continue;
+                }
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size << 1);
+                }
+                result[size++] = value;
+            }
+            return Arrays.copyOf(result, size);
+        });
+    }
+
+    // 첫 번째 컬럼을 double[] 로 조회 (NULL 은 건너뜀)
+    public double[] selectDoubleArray() {
+        return executeQuery(false, rs -> {
+            double[] result = new double[16];
+            int size = 0;
+            while (rs.next()) {
+                double value = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    continue;
+                }
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size << 1);
+                }
+                result[size++] = value;
+            }
+            return Arrays.copyOf(result, size);
+        });
     }
 
     /*
     IN절 처리 메서드
 
     구현 로직:
-    1. 파라미터 개수만큼 ? 생성
-    2. SQL의 첫 번째 ?를 생성한 플레이스홀더들로 치환
-    3. 파라미터들을 리스트에 추가
+    1. SQL 의 첫 번째 ? 위치를 찾음 (정규식 X, indexOf 한 번)
+    2. 바로 앞이 "IN (" 또는 "FIELD(컬럼, " 이면 값 개수를 구간 크기로 패딩
+       - chunkSize 까지는 2의 거듭제곱 (1, 2, 4, 8, ...), 넘으면 chunkSize 의 배수
+       - 남는 자리는 마지막 값을 반복 (IN/FIELD 결과는 같음)
+    3. ? 를 값 개수만큼의 플레이스홀더로 바꿔서 append, 파라미터 추가
+    4. IN 목록이 chunkSize 를 넘으면 위치를 기록 → 실행할 때 chunk 로 나눔 (inListChunks)
 
-    - Collections.nCopies(n, "?"): "?"를 n개 복사한 리스트 생성
-    - String.join(", ", list): 리스트 요소를 ", "로 연결
-    - replaceFirst("\\?", replacement): 첫 번째 ? 치환 (정규식이라 \\ 필요)
+    - 목록 길이마다 SQL 이 달라지면 statement 캐시가 소용없으므로, 구간 크기로 맞춰 SQL 모양을 몇 개로 줄임
+    - VALUES (?) 처럼 IN/FIELD 가 아닌 곳은 패딩하지 않음
 
     변환 예시:
     appendIn("WHERE id IN (?)", 1, 2, 3)
-    → "WHERE id IN (?, ?, ?)" + 파라미터 [1, 2, 3]
+    → "WHERE id IN (?, ?, ?, ?)" + 파라미터 [1, 2, 3, 3]
     */
     public Sql appendIn(String sql, Object... params) {
-        // 파라미터 개수만큼 ? 생성: Collections.nCopies(3, "?") → ["?", "?", "?"]
-        // String.join(", ", ...) → "?, ?, ?"
-        String placeholders = String.join(", ", Collections.nCopies(params.length, "?"));
+        int mark = sql.indexOf('?');
+        if (mark < 0) {
+            return append(sql, params);
+        }
 
-        // SQL의 첫 번째 ?를 치환
-        // "WHERE id IN (?)" → "WHERE id IN (?, ?, ?)"
-        String modifiedSql = sql.replaceFirst("\\?", placeholders);
+        String before = sql.substring(0, mark);
+        String after = sql.substring(mark + 1);
+        boolean inList = IN_LIST_START.matcher(before).find();
+        int chunkSize = simpleDb.getInListChunkSize();
+        Object[] values = inList || FIELD_LIST_START.matcher(before).find() ? padToBucket(params, chunkSize) : params;
+
+        String placeholders = placeholders(values.length);
+        append(before + placeholders + after);
+
+        if (inList && params.length > chunkSize) {
+            if (this.inList == null) {
+                int sqlStart = sqlBuilder.length() - after.length() - placeholders.length();
+                this.inList = new InList(sqlStart, placeholders.length(), parameters.size(), values.length, params.clone());
+            } else {
+                multipleInLists = true;
+            }
+        }
+        parameters.addAll(Arrays.asList(values));
 
-        append(modifiedSql);
+        return this;
+    }
 
-        parameters.addAll(Arrays.asList(params));
+    // "?, ?, ?" (count 개)
+    private static String placeholders(int count) {
+        return count == 0 ? "" : "?, ".repeat(count - 1) + "?";
+    }
 
-        return this;
+    // IN 목록 크기 구간: chunkSize 까지는 2의 거듭제곱, 넘으면 chunkSize 의 배수
+    static int bucketSize(int size, int chunkSize) {
+        if (size <= 1) {
+            return size;
+        }
+        if (size > chunkSize) {
+            return (int) (((long) size + chunkSize - 1) / chunkSize * chunkSize);
+        }
+        return Math.min(Integer.highestOneBit(size - 1) << 1, chunkSize);
+    }
+
+    // 구간 크기까지 마지막 값을 반복해서 채움
+    private static Object[] padToBucket(Object[] values, int chunkSize) {
+        int bucket = bucketSize(values.length, chunkSize);
+        if (bucket == values.length) {
+            return values;
+        }
+        Object[] padded = Arrays.copyOf(values, bucket);
+        Arrays.fill(padded, values.length, bucket, values[values.length - 1]);
+        return padded;
     }
 
     /*
-    여러 행을 객체 리스트로 조회
+    큰 IN 목록을 chunkSize 개씩 나눈 Sql 목록 (나누지 않고 한 번에 실행해야 하면 null)
 
     구현 로직:
-    1. selectRows()로 Map 리스트 조회
-    2. Jackson ObjectMapper로 각 Map을 지정된 클래스 객체로 변환
-    3. 변환된 객체들을 리스트에 담아 반환
+    1. appendIn 이 기록한 IN 목록 위치를 기준으로 SQL 을 앞/뒤로 나눔
+    2. 값의 중복을 없앰 (같은 값이 두 chunk 에 들어가면 같은 행이 두 번 조회되므로)
+    3. chunk 마다 값을 구간 크기로 패딩한 플레이스홀더를 끼워 넣고, 앞/뒤 파라미터는 그대로 붙임
+    4. 만든 Sql 은 SQL 과 파라미터가 고정된 Sql (PreparedQuery.bind 와 같은 형태)
+
+    - "WHERE ... AND 컬럼 IN (...)" 처럼 IN 이 최상위 WHERE 뒤, 괄호/서브쿼리 밖에서 AND 로만 묶인 경우만 나눔
+      - NOT IN, OR/XOR, 괄호나 서브쿼리 안의 IN 은 chunk 결과의 합이 원래 결과와 다르므로 나누지 않음
+      - SELECT 목록의 IN 이나 JOIN/ON 이 있는 문장도 나누지 않음 (LEFT JOIN ... ON ... AND 컬럼 IN (...) 은 chunk 마다 모든 바깥 행이 나옴)
+    - ORDER BY, LIMIT, GROUP BY, DISTINCT, HAVING, UNION, 집계 함수가 있으면 결과를 이어붙일 수 없으므로 나누지 않음
+    - 큰 IN 목록이 두 개 이상이어도 나누지 않음
+    - 괄호 깊이는 문자열 리터럴을 구분하지 않음 (리터럴 안의 괄호 때문에 판단이 틀리면 나누지 않는 쪽)
+    */
+    private List<Sql> inListChunks() {
+        if (inList == null || multipleInLists) {
+            return null;
+        }
+        int chunkSize = simpleDb.getInListChunkSize();
+        Object[] values = new LinkedHashSet<>(Arrays.asList(inList.values())).toArray();
+        String sql = sql();
+        if (values.length <= chunkSize || NOT_CHUNKABLE.matcher(sql).find()) {
+            return null;
+        }
 
-    - ObjectMapper.convertValue(): Map → 객체 자동 변환
+        String head = sql.substring(0, inList.sqlStart());
+        // 열린 괄호가 IN ( 하나뿐이어야 최상위 조건 (서브쿼리/괄호 묶음 밖), 그 앞에 최상위 WHERE 가 있어야 함
+        if (NOT_IN_LIST_START.matcher(head).find() || parenDepth(head) != 1 || !hasTopLevelWhere(head)) {
+            return null;
+        }
+        String tail = sql.substring(inList.sqlStart() + inList.sqlLength());
+        List<Object> headParameters = parameters.subList(0, inList.parameterIndex());
+        List<Object> tailParameters = parameters.subList(inList.parameterIndex() + inList.parameterCount(), parameters.size());
+
+        List<Sql> chunks = new ArrayList<>();
+        for (int from = 0; from < values.length; from += chunkSize) {
+            Object[] chunk = padToBucket(Arrays.copyOfRange(values, from, Math.min(from + chunkSize, values.length)), chunkSize);
+            List<Object> chunkParameters = new ArrayList<>(headParameters.size() + chunk.length + tailParameters.size());
+            chunkParameters.addAll(headParameters);
+            chunkParameters.addAll(Arrays.asList(chunk));
+            chunkParameters.addAll(tailParameters);
+            chunks.add(new Sql(simpleDb, head + placeholders(chunk.length) + tail, chunkParameters));
+        }
+        return chunks;
+    }
+
+    // 괄호 밖(최상위)에 WHERE 가 있는지
+    private static boolean hasTopLevelWhere(String sql) {
+        Matcher matcher = WHERE.matcher(sql);
+        while (matcher.find()) {
+            if (parenDepth(sql.substring(0, matcher.start())) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 열린 괄호 수 - 닫힌 괄호 수
+    private static int parenDepth(String sql) {
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        return depth;
+    }
+
+    /*
+    조회 chunk 별로 실행해서 결과를 chunk 순서대로 반환 (쓰기는 executeUpdate 에서 한 트랜잭션으로 순차 실행)
+
+    - setInListChunking(..., true) 이고 트랜잭션 밖이면 async executor 로 동시에 실행
+    - 트랜잭션 안에서는 같은 connection 을 써야 하므로 항상 순차 실행
+    - 하나라도 실패하면 나머지를 취소하고 그 예외를 던짐
     */
-    public <T> List<T> selectRows(Class<T> cls) {
-        List<Map<String, Object>> mapRows = selectRows();
-        List<T> result = new ArrayList<>();
+    private <R> List<R> runChunks(List<Sql> chunks, Function<Sql, R> action) {
+        List<R> results = new ArrayList<>(chunks.size());
+        if (!simpleDb.isInListChunkParallel() || simpleDb.isOpenTransaction()) {
+            for (Sql chunk : chunks) {
+                results.add(action.apply(chunk));
+            }
+            return results;
+        }
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());  // LocalDateTime 지원
+        List<CompletableFuture<R>> futures = new ArrayList<>(chunks.size());
+        for (Sql chunk : chunks) {
+            futures.add(chunk.async(() -> action.apply(chunk)));
+        }
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return results;
+    }
+
+    // appendIn 으로 넣은 큰 IN 목록의 위치 (sqlBuilder 위치/길이, parameters 위치/개수, 패딩 전 값)
+    private record InList(int sqlStart, int sqlLength, int parameterIndex, int parameterCount, Object[] values) {
+    }
+
+    /*
+    지금까지 append 한 SQL 을 재사용 템플릿으로 컴파일
 
-        for (Map<String, Object> row : mapRows) {
-            T obj = mapper.convertValue(row, cls);
-            result.add(obj);
+    구현 로직:
+    1. SQL 을 한 번만 만들고 :이름 파라미터를 ? 로 바꿈
+    2. 이후 실행은 PreparedQuery.bind(...) 로 값만 바꿔서 반복
+
+    - 파라미터 값은 bind 할 때 넣어야 하므로 append(sql, params) 로 넣은 값이 있으면 예외
+
+    사용 예:
+    PreparedQuery byId = simpleDb.genSql().append("SELECT * FROM article WHERE id = :id").prepare();
+    Article article = byId.bind(Map.of("id", 1L)).selectRow(Article.class);
+    */
+    public PreparedQuery prepare() {
+        if (preparedSql != null) {
+            throw new IllegalStateException("이미 PreparedQuery 로 만든 Sql 입니다");
+        }
+        if (!parameters.isEmpty() || !batchParameters.isEmpty()) {
+            throw new IllegalStateException("prepare() 할 SQL 에는 파라미터 값 대신 ? 또는 :이름 만 넣어야 합니다");
         }
+        return PreparedQuery.compile(simpleDb, sqlBuilder.toString());
+    }
 
-        return result;
+    /*
+    여러 행을 객체 리스트로 조회
+
+    구현 로직:
+    1. 클래스별로 미리 만들어 둔 BeanMapper 조회 (최초 1회만 분석)
+    2. ResultSet 의 각 행을 컬럼 타입에 맞는 getter 로 읽어 바로 객체에 설정
+    3. 변환된 객체들을 리스트에 담아 반환
+
+    - 중간 Map 과 Jackson ObjectMapper 를 거치지 않음
+    - @JsonProperty("isBlind") 같은 프로퍼티 이름은 그대로 인식
+    */
+    public <T> List<T> selectRows(Class<T> cls) {
+        BeanMapper<T> beanMapper = BeanMapper.of(cls);
+        return query(entityMapper(cls, beanMapper::rowMapper));
     }
 
     /*
     단일 행을 객체로 조회
 
     구현 로직:
-    1. selectRows(cls) 호출
+    1. queryFirst()로 첫 번째 행만 조회
     2. 첫 번째 객체 반환 (없으면 null)
     */
     public <T> T selectRow(Class<T> cls) {
-        List<T> rows = selectRows(cls);
-        return rows.isEmpty() ? null : rows.get(0);
+        BeanMapper<T> beanMapper = BeanMapper.of(cls);
+
+        // WHERE id = ? 단건 조회는 엔티티 캐시 먼저 확인
+        EntityCache cache = entityCache();
+        if (cache != null) {
+            String sql = sql();
+            String table = EntityCache.entityTable(sql);
+            Long id = table == null ? null : EntityCache.primaryKey(sql, parameters);
+            if (id != null) {
+                T cached = cache.get(cls, table, id);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+        return queryFirst(entityMapper(cls, beanMapper::rowMapper));
+    }
+
+    // 트랜잭션 밖에서만 엔티티 캐시 사용 (커밋 전 데이터가 다른 쓰레드에 보이지 않도록)
+    private EntityCache entityCache() {
+        EntityCache cache = simpleDb.getEntityCache();
+        return cache == null || simpleDb.isOpenTransaction() ? null : cache;
+    }
+
+    // 엔티티 캐시가 켜져 있고 SELECT * FROM 단일 테이블 조회면 결과를 캐시에 채우는 변환기로 감쌈
+    // replica 가 처리한 조회는 복제 지연으로 오래된 행일 수 있으므로 채우지 않음 (createMapper 에서 선택)
+    private <T> RowMapperFactory<T> entityMapper(Class<T> cls, RowMapperFactory<T> factory) {
+        EntityCache cache = entityCache();
+        if (cache == null) {
+            return factory;
+        }
+        String table = EntityCache.entityTable(sql());
+        if (table == null) {
+            return factory;
+        }
+        return new EntityMapperFactory<>(factory, cache.populating(cls, table, cache.version(table), factory));
+    }
+
+    // 실행 중인 Sql(chunk 로 나눴으면 그 chunk)이 replica 에서 읽었으면 엔티티 캐시를 채우지 않는 변환기 사용
+    private <T> RowMapper<T> createMapper(RowMapperFactory<T> factory, ResultSet rs) throws SQLException {
+        if (factory instanceof EntityMapperFactory<T> entity) {
+            return (servedByReplica ? entity.plain() : entity.populating()).create(rs);
+        }
+        return factory.create(rs);
+    }
+
+    // 엔티티 캐시를 채우는 변환기와 채우지 않는 변환기
+    private record EntityMapperFactory<T>(RowMapperFactory<T> plain, RowMapperFactory<T> populating)
+            implements RowMapperFactory<T> {
+        @Override
+        public RowMapper<T> create(ResultSet rs) throws SQLException {
+            return plain.create(rs);
+        }
+    }
+
+    // ResultSet 현재 행 → 결과 객체 변환
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    // 결과 집합마다 한 번 호출되어 RowMapper 생성 (컬럼 정보는 여기서 한 번만 읽음)
+    @FunctionalInterface
+    interface RowMapperFactory<T> {
+        RowMapper<T> create(ResultSet rs) throws SQLException;
+    }
+
+    /*
+    여러 행을 Stream 으로 조회 (전체 결과를 메모리에 올리지 않음)
+
+    구현 로직:
+    1. TYPE_FORWARD_ONLY + CONCUR_READ_ONLY statement 생성
+    2. fetchSize = Integer.MIN_VALUE → MySQL 드라이버가 행을 하나씩 스트리밍
+    3. Stream 이 한 행씩 당겨갈 때마다 rs.next() 후 변환
+    4. Stream.close() 시 ResultSet/statement 를 닫고 connection 반납
+
+    - 반드시 try-with-resources 로 닫아야 connection 이 반납됨
+    - 스트리밍 중에는 같은 connection 으로 다른 쿼리를 실행할 수 없음 (트랜잭션 안에서 사용 시 주의)
+    - 중간에 닫으면 드라이버가 남은 행을 읽어 버린 뒤 닫음
+    */
+    public Stream<Map<String, Object>> selectStream() {
+        return stream(Sql::mapRowMapper);
+    }
+
+    public <T> Stream<T> selectStream(Class<T> cls) {
+        BeanMapper<T> beanMapper = BeanMapper.of(cls);
+        return stream(beanMapper::rowMapper);
+    }
+
+    // 한 행씩 consumer 에 전달, 다 읽으면 자동으로 자원 정리
+    public void forEachRow(Consumer<Map<String, Object>> consumer) {
+        try (Stream<Map<String, Object>> rows = selectStream()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    public <T> void forEachRow(Class<T> cls, Consumer<T> consumer) {
+        try (Stream<T> rows = selectStream(cls)) {
+            rows.forEach(consumer);
+        }
+    }
+
+    private <T> Stream<T> stream(RowMapperFactory<T> mapperFactory) {
+        String sql = sql();
+
+        PooledConnection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        RowMapper<T> mapper;
+        acquireNanos = -1;
+        rowCount = 0;
+        JfrEvents.QueryEvent event = new JfrEvents.QueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            conn = simpleDb.acquireRead(sql);
+            long acquired = System.nanoTime();
+            // 스트리밍용 statement 는 fetchSize 설정이 달라서 캐시하지 않음
+            pstmt = conn.getConnection().prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            setParameters(pstmt);
+            rs = pstmt.executeQuery();
+            mapper = mapperFactory.create(rs);
+            acquireNanos = acquired - start;
+            executeNanos = System.nanoTime() - acquired;
+        } catch (SQLException e) {
+            closeStream(rs, pstmt, conn);
+            simpleDb.getMetrics().record(sql, -1, -1, -1, 0, true);
+            commitEvent(event, sql, false);
+            throw new RuntimeException("SELECT 오류 발생", e);
+        }
+        long opened = System.nanoTime();
+
+        ResultSet cursor = rs;
+        rowCount = 0;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    rowCount++;
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("SELECT 오류 발생", e);
+                }
+            }
+        };
+
+        PooledConnection leased = conn;
+        PreparedStatement statement = pstmt;
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    closeStream(cursor, statement, leased);
+                    // 스트리밍은 행을 읽으면서 DB 에서 받아오므로 mapping 에 소비 쪽 처리 시간까지 포함됨
+                    mappingNanos = System.nanoTime() - opened;
+                    recordMetrics(sql, true);
+                    commitEvent(event, sql, true);
+                });
+    }
+
+    // 스트림 자원 정리: ResultSet → statement → connection 반납 순서
+    private void closeStream(ResultSet rs, Statement stmt, PooledConnection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException ignored) {
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException ignored) {
+        }
+        simpleDb.release(conn);
+    }
+
+    /*
+    write-behind INSERT: 행을 SimpleDb 의 버퍼에 넣고 바로 반환 (SimpleDb.enableWriteBehind() 필요)
+
+    - 기록은 백그라운드에서 같은 SQL 의 다른 행과 함께 배치로 (생성 ID 없음)
+    - 반환: 버퍼에 넣었으면 true, DROP 정책으로 버려졌으면 false
+    - 트랜잭션 안에서 호출해도 그 트랜잭션과 무관하게 따로 커밋됨
+
+    사용 예:
+    simpleDb.genSql().append("INSERT INTO article_view (articleId, viewedAt) VALUES (?, NOW())", id).insertLater();
+    */
+    public boolean insertLater() {
+        WriteBehindBuffer buffer = simpleDb.getWriteBehind();
+        if (buffer == null) {
+            throw new IllegalStateException("write-behind 가 꺼져 있습니다 (SimpleDb.enableWriteBehind() 필요)");
+        }
+        if (!batchParameters.isEmpty()) {
+            throw new IllegalStateException("insertLater 는 addBatch() 없이 append 파라미터로 한 행씩 넣어야 합니다");
+        }
+        String sql = sql();
+        if (!sql.stripLeading().regionMatches(true, 0, "INSERT", 0, 6)) {
+            throw new IllegalArgumentException("insertLater 는 INSERT 만 지원합니다: " + sql);
+        }
+        return buffer.enqueue(sql, parameters.toArray());
+    }
+
+    /*
+    비동기 실행 (SimpleDb.setAsyncExecutor() 의 executor, 기본은 가상 쓰레드)
+
+    구현 로직:
+    1. executor 에서 동기 메서드(insert(), selectRows() 등)를 그대로 실행
+    2. connection 은 실행하는 쪽에서 풀에서 빌려 쓰고 바로 반납
+    3. 반환된 future 를 cancel() 하면 실행 중인 JDBC statement 를 cancel() (MySQL 은 KILL QUERY)
+
+    - 트랜잭션은 쓰레드에 묶여 있으므로 트랜잭션 안에서는 사용할 수 없음
+    - 실행이 끝날 때까지 이 Sql 객체를 수정하면 안 됨
+    - 여러 쿼리를 동시에 보낼 때는 쿼리마다 genSql() 로 따로 만들 것
+
+    사용 예:
+    CompletableFuture<Long> count = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLongAsync();
+    CompletableFuture<List<Article>> articles = simpleDb.genSql().append("SELECT * FROM article").selectRowsAsync(Article.class);
+    */
+    public CompletableFuture<Long> insertAsync() {
+        return async(this::insert);
+    }
+
+    public CompletableFuture<Integer> updateAsync() {
+        return async(this::update);
+    }
+
+    public CompletableFuture<Integer> deleteAsync() {
+        return async(this::delete);
+    }
+
+    public CompletableFuture<long[]> insertBatchAsync() {
+        return async(this::insertBatch);
+    }
+
+    public CompletableFuture<List<Map<String, Object>>> selectRowsAsync() {
+        return async(this::selectRows);
+    }
+
+    public <T> CompletableFuture<List<T>> selectRowsAsync(Class<T> cls) {
+        return async(() -> selectRows(cls));
+    }
+
+    public CompletableFuture<Map<String, Object>> selectRowAsync() {
+        return async(this::selectRow);
+    }
+
+    public <T> CompletableFuture<T> selectRowAsync(Class<T> cls) {
+        return async(() -> selectRow(cls));
+    }
+
+    public CompletableFuture<Long> selectLongAsync() {
+        return async(this::selectLong);
+    }
+
+    public CompletableFuture<String> selectStringAsync() {
+        return async(this::selectString);
+    }
+
+    public CompletableFuture<Boolean> selectBooleanAsync() {
+        return async(this::selectBoolean);
+    }
+
+    public CompletableFuture<LocalDateTime> selectDatetimeAsync() {
+        return async(this::selectDatetime);
+    }
+
+    public CompletableFuture<List<Long>> selectLongsAsync() {
+        return async(this::selectLongs);
+    }
+
+    private <R> CompletableFuture<R> async(Supplier<R> work) {
+        if (simpleDb.isOpenTransaction()) {
+            throw new IllegalStateException("트랜잭션 안에서는 비동기 실행을 사용할 수 없습니다");
+        }
+
+        SqlFuture<R> future = new SqlFuture<>(this);
+        try {
+            simpleDb.getAsyncExecutor().execute(() -> {
+                // 시작 전에 취소된 작업은 실행하지 않음
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // 실행할 statement 등록 (connection 을 빌린 callback 안에서만 호출)
+    private void startStatement(Statement statement) {
+        statementLock.lock();
+        try {
+            runningStatement = statement;
+        } finally {
+            statementLock.unlock();
+        }
+    }
+
+    private void endStatement() {
+        statementLock.lock();
+        try {
+            runningStatement = null;
+        } finally {
+            statementLock.unlock();
+        }
+    }
+
+    /*
+    실행 중인 statement 취소 (실행 중이 아니면 아무것도 하지 않음)
+
+    - lock 을 잡은 채 취소하므로, 취소하는 동안 callback 이 끝나 connection 이 반납되지 않음
+    - connection 반납 뒤에는 runningStatement 가 null 이라 다른 사용자의 statement 를 취소하지 않음
+    */
+    void cancel() {
+        statementLock.lock();
+        try {
+            if (runningStatement != null) {
+                runningStatement.cancel();
+            }
+        } catch (SQLException ignored) {
+            // 이미 끝난 statement
+        } finally {
+            statementLock.unlock();
+        }
+    }
+
+    // cancel() 시 실행 중인 JDBC statement 까지 취소하는 future
+    private static final class SqlFuture<T> extends CompletableFuture<T> {
+        private final Sql sql;
+
+        SqlFuture(Sql sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                sql.cancel();
+            }
+            return cancelled;
+        }
     }
 }
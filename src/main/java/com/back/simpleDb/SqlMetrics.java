@@ -0,0 +1,224 @@
+package com.back.simpleDb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+SQL 템플릿별 실행 지표
+
+구현 로직:
+1. SQL 을 템플릿으로 정규화 (리터럴 → ?, IN (?, ?, ?) → IN (...), 공백 정리)
+2. 템플릿마다 호출 수, 오류 수, 행 수, 단계별 지연시간 히스토그램을 누적
+   - acquire: connection 대여 대기
+   - execute: statement 실행 (DB 왕복)
+   - mapping: ResultSet → 결과 객체 변환
+3. snapshot() 으로 현재 값을 복사해서 조회
+
+- 카운터는 LongAdder (쓰레드별로 나눠 더해서 경합이 적고, 기록할 때 객체를 만들지 않음)
+- 히스토그램은 2의 거듭제곱 나노초 구간 64개 (구간 찾기는 numberOfLeadingZeros 한 번)
+- 정규화 결과는 원본 SQL 문자열 기준으로 캐시, 같은 SQL 은 map 조회 한 번으로 끝남
+  (MAX_NORMALIZED_SQL 개가 차면 비우고 다시 채움, 템플릿 지표는 templates 에 남아 있으므로 잃지 않음)
+- 템플릿 수가 MAX_TEMPLATES 를 넘으면 나머지는 OTHER 로 합산 (메모리 상한)
+*/
+public class SqlMetrics {
+    static final String OTHER = "(other)";
+
+    private static final int MAX_TEMPLATES = 1_000;
+    private static final int MAX_NORMALIZED_SQL = 10_000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.`])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ConcurrentHashMap<String, TemplateMetrics> templates = new ConcurrentHashMap<>();
+    // 원본 SQL → 템플릿 지표 (정규화를 매번 하지 않도록)
+    private final ConcurrentHashMap<String, TemplateMetrics> bySql = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+    실행 1회 기록
+
+    - 단계별 시간은 나노초, 측정하지 않은 단계는 음수로 전달하면 건너뜀
+    - rows: 조회는 읽은 행 수, 쓰기는 영향받은 행 수
+    */
+    void record(String sql, long acquireNanos, long executeNanos, long mappingNanos, long rows, boolean error) {
+        if (!enabled) {
+            return;
+        }
+        TemplateMetrics metrics = metricsFor(sql);
+        metrics.calls.increment();
+        if (error) {
+            metrics.errors.increment();
+        }
+        if (rows > 0) {
+            metrics.rows.add(rows);
+        }
+        metrics.acquire.record(acquireNanos);
+        metrics.execute.record(executeNanos);
+        metrics.mapping.record(mappingNanos);
+    }
+
+    private TemplateMetrics metricsFor(String sql) {
+        TemplateMetrics metrics = bySql.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        String template = normalize(sql);
+        metrics = templates.get(template);
+        if (metrics == null) {
+            metrics = templates.size() < MAX_TEMPLATES
+                    ? templates.computeIfAbsent(template, TemplateMetrics::new)
+                    : templates.computeIfAbsent(OTHER, TemplateMetrics::new);
+        }
+        if (bySql.size() >= MAX_NORMALIZED_SQL) {
+            bySql.clear();
+        }
+        bySql.putIfAbsent(sql, metrics);
+        return metrics;
+    }
+
+    // SQL → 템플릿 (값만 다른 SQL 은 같은 템플릿)
+    static String normalize(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = IN_LIST.matcher(template).replaceAll("IN (...)");
+        return WHITESPACE.matcher(template).replaceAll(" ").trim();
+    }
+
+    // 템플릿별 지표 스냅샷 (총 실행 시간이 긴 순서)
+    public Map<String, TemplateStats> snapshot() {
+        return Collections.unmodifiableMap(templates.values().stream()
+                .map(TemplateMetrics::snapshot)
+                .sorted((a, b) -> Long.compare(b.execute().totalNanos(), a.execute().totalNanos()))
+                .collect(LinkedHashMap::new, (map, stats) -> map.put(stats.template(), stats), Map::putAll));
+    }
+
+    void reset() {
+        bySql.clear();
+        templates.clear();
+    }
+
+    // 템플릿 하나의 누적 지표
+    private static final class TemplateMetrics {
+        private final String template;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final Histogram acquire = new Histogram();
+        private final Histogram execute = new Histogram();
+        private final Histogram mapping = new Histogram();
+
+        TemplateMetrics(String template) {
+            this.template = template;
+        }
+
+        TemplateStats snapshot() {
+            return new TemplateStats(template, calls.sum(), errors.sum(), rows.sum(),
+                    acquire.snapshot(), execute.snapshot(), mapping.snapshot());
+        }
+    }
+
+    // 나노초 지연시간 히스토그램: bucket i 는 [2^i, 2^(i+1)) (0 은 bucket 0)
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[64];
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                return;
+            }
+            buckets[63 - Long.numberOfLeadingZeros(nanos | 1)].increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Latency snapshot() {
+            long[] counts = new long[buckets.length];
+            long count = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            return new Latency(count, totalNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+
+    // 템플릿 하나의 지표 스냅샷
+    public record TemplateStats(String template, long calls, long errors, long rows,
+                                Latency acquire, Latency execute, Latency mapping) {
+    }
+
+    // 한 단계의 지연시간 분포 스냅샷 (buckets[i]: 2^i ~ 2^(i+1) 나노초 구간의 횟수)
+    public record Latency(long count, long totalNanos, long maxNanos, long[] buckets) {
+        public Latency {
+            buckets = buckets.clone();
+        }
+
+        @Override
+        public long[] buckets() {
+            return buckets.clone();
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        // 백분위 근사값 (해당 구간의 상한, 최대값을 넘지 않음)
+        public long percentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(rank, 1)) {
+                    long upper = i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                    return Math.min(upper, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Latency other && count == other.count && totalNanos == other.totalNanos
+                    && maxNanos == other.maxNanos && Arrays.equals(buckets, other.buckets);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(totalNanos) + Arrays.hashCode(buckets);
+        }
+
+        @Override
+        public String toString() {
+            return "Latency[count=" + count + ", mean=" + (long) meanNanos() + "ns, p50=" + percentileNanos(50)
+                    + "ns, p99=" + percentileNanos(99) + "ns, max=" + maxNanos + "ns]";
+        }
+    }
+}
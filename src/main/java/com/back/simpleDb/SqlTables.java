@@ -0,0 +1,109 @@
+package com.back.simpleDb;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+SQL 문자열에서 테이블 이름 추출 (캐시 무효화/라우팅용)
+
+구현 로직:
+1. 읽기 테이블: FROM/JOIN 뒤의 테이블 이름 (FROM a, b 같은 콤마 조인 포함)
+2. 쓰기 테이블: INSERT/REPLACE/UPDATE/DELETE/TRUNCATE/DROP/ALTER/CREATE 대상 + 읽기 테이블
+3. 이름은 백틱과 스키마 접두어를 제거하고 소문자로 통일
+
+- 완전한 SQL 파서가 아니므로 애매하면 보수적으로 판단
+  (쓰기 대상을 모르면 null → 호출 쪽에서 전체 무효화)
+*/
+final class SqlTables {
+    private static final String TABLE = "(`?\\w+`?(?:\\.`?\\w+`?)?)";
+
+    private static final Pattern FROM_CLAUSE = Pattern.compile(
+            "(?is)\\bFROM\\s+(.+?)(?=\\bWHERE\\b|\\bGROUP\\b|\\bORDER\\b|\\bLIMIT\\b|\\bHAVING\\b|\\bUNION\\b"
+                    + "|\\bJOIN\\b|\\bLEFT\\b|\\bRIGHT\\b|\\bINNER\\b|\\bCROSS\\b|\\bSTRAIGHT_JOIN\\b|\\bNATURAL\\b"
+                    + "|\\bFOR\\b|\\bLOCK\\b|\\bON\\b|\\)|;|$)");
+    private static final Pattern JOIN = Pattern.compile("(?i)\\bJOIN\\s+" + TABLE);
+    private static final Pattern LEADING_TABLE = Pattern.compile("^\\s*" + TABLE);
+
+    private static final Pattern WRITE = Pattern.compile(
+            "(?is)^\\s*(?:"
+                    + "INSERT\\s+(?:LOW_PRIORITY\\s+|DELAYED\\s+|HIGH_PRIORITY\\s+)?(?:IGNORE\\s+)?(?:INTO\\s+)?"
+                    + "|REPLACE\\s+(?:LOW_PRIORITY\\s+|DELAYED\\s+)?(?:INTO\\s+)?"
+                    + "|UPDATE\\s+(?:LOW_PRIORITY\\s+)?(?:IGNORE\\s+)?"
+                    + "|DELETE\\s+(?:LOW_PRIORITY\\s+)?(?:QUICK\\s+)?(?:IGNORE\\s+)?FROM\\s+"
+                    + "|TRUNCATE\\s+(?:TABLE\\s+)?"
+                    + "|(?:DROP|ALTER|CREATE)\\s+(?:TEMPORARY\\s+)?TABLE\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?"
+                    + ")" + TABLE);
+
+    private static final Pattern READ_ONLY = Pattern.compile("(?is)^\\s*\\(?\\s*(?:SELECT|SHOW|EXPLAIN|DESCRIBE|DESC)\\b");
+
+    // 실행할 때마다 결과가 달라지는 함수/구문 (결과 캐시 불가)
+    private static final Pattern NON_DETERMINISTIC = Pattern.compile(
+            "(?i)\\b(?:NOW|SYSDATE|CURDATE|CURTIME|CURRENT_TIMESTAMP|CURRENT_DATE|CURRENT_TIME|UTC_TIMESTAMP|UTC_DATE"
+                    + "|UTC_TIME|UNIX_TIMESTAMP|LOCALTIME|LOCALTIMESTAMP|RAND|UUID|UUID_SHORT|CONNECTION_ID"
+                    + "|LAST_INSERT_ID|FOUND_ROWS|ROW_COUNT|USER|CURRENT_USER|SLEEP|GET_LOCK)\\s*\\("
+                    + "|\\bFOR\\s+UPDATE\\b|\\bFOR\\s+SHARE\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b|@");
+
+    private SqlTables() {
+    }
+
+    // SELECT 등에서 읽는 테이블
+    static Set<String> readTables(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+
+        Matcher from = FROM_CLAUSE.matcher(sql);
+        while (from.find()) {
+            for (String part : from.group(1).split(",")) {
+                Matcher leading = LEADING_TABLE.matcher(part);
+                if (leading.find()) {
+                    tables.add(normalize(leading.group(1)));
+                }
+            }
+        }
+
+        Matcher join = JOIN.matcher(sql);
+        while (join.find()) {
+            tables.add(normalize(join.group(1)));
+        }
+        return tables;
+    }
+
+    // 쓰기로 바뀔 수 있는 테이블, 판단할 수 없으면 null
+    static Set<String> writtenTables(String sql) {
+        if (READ_ONLY.matcher(sql).find()) {
+            return Collections.emptySet();
+        }
+
+        Matcher write = WRITE.matcher(sql);
+        if (!write.find()) {
+            return null;
+        }
+
+        Set<String> tables = new LinkedHashSet<>();
+        tables.add(normalize(write.group(1)));
+        // UPDATE a JOIN b, INSERT ... SELECT FROM c 등은 관련 테이블까지 넓게 포함
+        tables.addAll(readTables(sql));
+        return tables;
+    }
+
+    static boolean isSelect(String sql) {
+        return READ_ONLY.matcher(sql).find();
+    }
+
+    // 같은 SQL/파라미터면 항상 같은 결과인지 (NOW(), RAND(), FOR UPDATE, 사용자 변수 등이 없어야 함)
+    static boolean isDeterministic(String sql) {
+        return !NON_DETERMINISTIC.matcher(sql).find();
+    }
+
+    static String normalize(String table) {
+        String name = table.replace("`", "");
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.back.simpleDb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+물리 connection 1개에 붙는 PreparedStatement LRU 캐시
+
+구현 로직:
+1. (SQL 문자열, generated key 여부)를 키로 PreparedStatement 를 보관
+2. 캐시에 있으면 재사용(hit), 없으면 prepareStatement 후 저장(miss)
+3. 개수가 capacity 를 넘으면 가장 오래 안 쓰인 statement 를 닫고 제거(eviction)
+
+- LinkedHashMap(accessOrder=true): get 할 때마다 순서가 갱신되어 LRU 로 동작
+- connection 은 한 번에 한 쓰레드만 빌려 쓰므로 캐시 자체에는 동기화가 필요 없음
+- URL 의 useServerPrepStmts=true 와 함께 쓰면 서버 쪽 parse/plan 도 statement 당 1회로 줄어듦
+- 캐시에서 받은 statement 는 호출자가 close() 하면 안 됨 (ResultSet 만 닫을 것)
+*/
+public class StatementCache {
+    private final Connection connection;
+    private final int capacity;
+    private final Counters counters;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int capacity, Counters counters) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.counters = counters;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                counters.evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement pstmt = statements.get(key);
+        if (pstmt != null && !pstmt.isClosed()) {
+            counters.hits.increment();
+            return pstmt;
+        }
+
+        counters.misses.increment();
+        pstmt = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        statements.put(key, pstmt);
+        return pstmt;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    void clear() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    // 풀 전체 캐시가 공유하는 카운터 (LongAdder: 여러 쓰레드가 동시에 올려도 경합이 적음)
+    static class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        Stats snapshot() {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum());
+        }
+    }
+
+    // 캐시 통계 스냅샷
+    public record Stats(long hits, long misses, long evictions) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.back.simpleDb;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+INSERT 를 모아 두었다가 백그라운드에서 배치로 기록 (write-behind)
+
+구현 로직:
+1. Sql.insertLater(): SQL 과 파라미터를 대기열에 넣고 바로 반환 (DB 를 기다리지 않음)
+2. 작업 쓰레드가 첫 행을 받으면 batchSize 개가 모이거나 그 행이 flushIntervalMillis 만큼 기다릴 때까지 더 모음
+3. 모은 행을 같은 SQL 끼리 묶어 insertBatch() 로 기록
+   - "INSERT ... VALUES (?, ?)" 형식이면 rewriteBatchedStatements 로 multi-row INSERT 한 번이 됨
+   - 배치가 실패하면 반영되지 않은 행만 한 행씩 다시 기록 → 문제 있는 행만 버림
+4. 대기열이 가득 차면 정책에 따라
+   - BLOCK: 자리가 날 때까지 넣는 쓰레드가 기다림 (backpressure)
+   - DROP: 버리고 false 반환 (getStats().dropped() 로 확인)
+5. flush(): 그때까지 넣은 행이 모두 기록될 때까지 대기 / close(): 남은 행을 모두 기록하고 종료
+
+- 생성 ID 는 받을 수 없고, 호출한 쓰레드의 트랜잭션과 무관하게 나중에 따로 커밋됨
+- 한 행씩 기록해도 실패한 행은 버림 (getStats().failedRows(), getLastFailure())
+- queueDepth/peakQueueDepth 는 대기 중인 행 수 (flush/종료 표시는 세지 않음)
+- 서로 다른 SQL 의 행 사이 순서는 보장하지 않음 (같은 SQL 안에서는 넣은 순서)
+*/
+public class WriteBehindBuffer implements AutoCloseable {
+    public enum OverflowPolicy { BLOCK, DROP }
+
+    // 작업 쓰레드 종료 표시
+    private static final Entry STOP = new Entry(null, null, 0, null);
+
+    private final SimpleDb simpleDb;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy policy;
+
+    private final ArrayBlockingQueue<Entry> queue;
+    private final Thread worker;
+    private volatile boolean closed;
+    // close() 의 남은 행 기록과 작업 쓰레드 기록이 겹치지 않도록
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Throwable lastFailure;
+    // 대기열에 있는 행 수 (대기열에는 flush/종료 표시도 들어가므로 queue.size() 대신 사용)
+    // 넣기/꺼내기와 세기가 따로라서 잠깐 0 ~ capacity 를 벗어날 수 있음 (통계에서 보정)
+    private final AtomicInteger pendingRows = new AtomicInteger();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator peakQueueDepth = new LongAccumulator(Long::max, 0);
+
+    WriteBehindBuffer(SimpleDb simpleDb, int capacity, int batchSize, long flushIntervalMillis, OverflowPolicy policy) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("capacity, batchSize 는 1 이상이어야 합니다");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("flushIntervalMillis 는 0 이상이어야 합니다: " + flushIntervalMillis);
+        }
+        this.simpleDb = simpleDb;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = Thread.ofPlatform().daemon().name("simpleDb-write-behind").start(this::run);
+    }
+
+    /*
+    행 하나 넣기 (Sql.insertLater 에서 호출)
+
+    - 가득 차 있으면 BLOCK 은 대기, DROP 은 false
+    - BLOCK 대기 중 interrupt 되거나 버퍼가 닫히면 버리고 false (interrupt 상태는 유지)
+    */
+    boolean enqueue(String sql, Object[] params) {
+        if (closed) {
+            throw new IllegalStateException("write-behind 버퍼가 이미 닫혔습니다");
+        }
+        Entry entry = new Entry(sql, params, System.nanoTime(), null);
+        boolean accepted = queue.offer(entry);
+        if (!accepted && policy == OverflowPolicy.BLOCK) {
+            try {
+                // 닫힌 뒤에도 계속 기다리지 않도록 짧게 나눠서 대기
+                while (!accepted && !closed) {
+                    accepted = queue.offer(entry, 10, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!accepted) {
+            dropped.increment();
+            return false;
+        }
+        enqueued.increment();
+        peakQueueDepth.accumulate(Math.min(pendingRows.incrementAndGet(), capacity));
+        if (closed) {
+            writeRemaining();  // close() 와 동시에 넣은 행이 남지 않도록
+        }
+        return true;
+    }
+
+    // 작업 쓰레드: 첫 행 → batchSize 개 또는 첫 행 기준 flushInterval 까지 모음 → 기록
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        List<CompletableFuture<Void>> flushed = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                Entry first = queue.take();
+                long deadline = first.enqueuedAt() + flushIntervalNanos;
+                Entry next = first;
+                while (true) {
+                    if (next == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    if (next.flushed() != null) {
+                        flushed.add(next.flushed());
+                        break;
+                    }
+                    batch.add(next);
+                    pendingRows.decrementAndGet();
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                stop = true;
+            }
+            write(batch);
+            batch.clear();
+            flushed.forEach(future -> future.complete(null));
+            flushed.clear();
+        }
+    }
+
+    // 같은 SQL 끼리 묶어 insertBatch (실패하면 한 행씩 다시 기록), 걸린 시간 기록
+    private void write(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<String, List<Object[]>> rowsBySql = new LinkedHashMap<>();
+            for (Entry entry : batch) {
+                rowsBySql.computeIfAbsent(entry.sql(), sql -> new ArrayList<>()).add(entry.params());
+            }
+            for (Map.Entry<String, List<Object[]>> rows : rowsBySql.entrySet()) {
+                try {
+                    insert(rows.getKey(), rows.getValue());
+                    flushedRows.add(rows.getValue().size());
+                } catch (RuntimeException e) {
+                    retryRows(rows.getKey(), rows.getValue(), e);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            totalFlushNanos.add(elapsed);
+            maxFlushNanos.accumulate(elapsed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        Sql batch = new Sql(simpleDb, sql, new ArrayList<>()).setBatchSize(batchSize);
+        rows.forEach(batch::addBatch);
+        batch.insertBatch();
+    }
+
+    /*
+    배치 실패 후 한 행씩 다시 기록
+
+    - autocommit 이라 배치에서 이미 반영된 행(BatchUpdateException 의 결과가 EXECUTE_FAILED 가 아닌 행)은 다시 넣지 않음
+    - 결과를 알 수 없는 행(결과 배열 뒤쪽, 배치 실행 전에 실패한 경우 전체)은 다시 기록
+    - multi-row INSERT 로 바뀐 배치는 한 문장이라 전체가 EXECUTE_FAILED → 모두 한 행씩 다시 기록
+    */
+    private void retryRows(String sql, List<Object[]> rows, RuntimeException failure) {
+        int[] counts = failure.getCause() instanceof BatchUpdateException batchFailure ? batchFailure.getUpdateCounts() : new int[0];
+        for (int i = 0; i < rows.size(); i++) {
+            if (i < counts.length && counts[i] != Statement.EXECUTE_FAILED) {
+                flushedRows.increment();
+                continue;
+            }
+            try {
+                insert(sql, Collections.singletonList(rows.get(i)));
+                flushedRows.increment();
+            } catch (RuntimeException e) {
+                failedRows.increment();
+                lastFailure = e;
+            }
+        }
+    }
+
+    /*
+    지금까지 넣은 행이 모두 기록될 때까지 대기
+
+    - 대기열 끝에 표시를 넣고 작업 쓰레드가 그 앞까지 기록하면 반환 (이후에 넣은 행은 기다리지 않음)
+    */
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            queue.put(new Entry(null, null, System.nanoTime(), done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (closed) {
+            writeRemaining();
+        }
+        done.join();
+    }
+
+    // 남은 행을 모두 기록하고 작업 쓰레드 종료 (이후 insertLater 는 예외)
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(STOP);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        writeRemaining();
+    }
+
+    /*
+    작업 쓰레드가 STOP 을 받고 끝나길 기다린 뒤, STOP 뒤에 들어온 행과 flush 표시를 직접 처리
+
+    - closed 를 본 뒤에 대기열에 넣은 쓰레드도 호출 (close() 가 이미 대기열을 비웠을 수 있으므로)
+    - 작업 쓰레드가 끝난 뒤에만 꺼내므로 STOP 을 가로채지 않음
+    */
+    private void writeRemaining() {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        List<Entry> rows = rest.stream().filter(entry -> entry.sql() != null).toList();
+        pendingRows.addAndGet(-rows.size());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            write(rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+        rest.stream().filter(entry -> entry.flushed() != null).forEach(entry -> entry.flushed().complete(null));
+    }
+
+    // 마지막 기록 실패 원인 (없으면 null)
+    public Throwable getLastFailure() {
+        return lastFailure;
+    }
+
+    public Stats getStats() {
+        return new Stats(Math.clamp(pendingRows.get(), 0, capacity), capacity, peakQueueDepth.get(), enqueued.sum(), dropped.sum(),
+                flushedRows.sum(), failedRows.sum(), flushes.sum(), totalFlushNanos.sum(), maxFlushNanos.get());
+    }
+
+    // 대기 중인 행 수와 기록 시간 (flush 1회 = 작업 쓰레드가 모은 행을 기록한 한 번)
+    public record Stats(int queueDepth, int capacity, long peakQueueDepth, long enqueued, long dropped,
+                        long flushedRows, long failedRows, long flushes, long totalFlushNanos, long maxFlushNanos) {
+        public double averageFlushMillis() {
+            return flushes == 0 ? 0.0 : totalFlushNanos / 1_000_000.0 / flushes;
+        }
+    }
+
+    // 넣은 행 하나 (sql == null 이면 flush/stop 표시)
+    private record Entry(String sql, Object[] params, long enqueuedAt, CompletableFuture<Void> flushed) {
+    }
+}
@@ -0,0 +1,349 @@
+package com.back.simpleDb;
+
+import com.back.Article;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+article 테이블 부하 테스트 (로컬 MySQL)
+
+구현 로직:
+1. article 테이블을 만들고(없으면) seed 건이 되도록 채워 둠
+   - --truncate 를 준 경우에만 먼저 비움 (기본은 기존 행을 지우지 않고 모자란 만큼만 추가)
+2. 쓰레드 N개(플랫폼 또는 가상)가 끝날 때까지 mix 비율대로 작업을 골라 반복 실행
+   - select: id 로 한 건 조회 (Article)
+   - page: id 이후 20건 조회 (List<Article>)
+   - insert: 한 건 추가
+   - update: 랜덤 id 의 제목 수정
+3. warmup 동안의 실행은 기록하지 않고, 이후 duration 동안 작업별 지연시간을 쓰레드별 배열에 기록
+4. 끝나면 배열을 합쳐 정렬해서 ops/sec, p50/p99/p999, max, 오류 수 출력
+5. 모든 쓰레드가 끝난 뒤 대여 중인 connection 이 남아 있으면 누수로 보고 (종료 코드 1)
+
+- --threads=1,16,128,1024 처럼 여러 개를 주면 차례로 실행 → 쓰레드 수에 따른 처리량 꺾임 확인
+  (풀의 peak connection 수는 실행마다 다시 셈)
+- update 는 기존 행의 제목을 바꾸므로 테스트용 DB 에서만 실행할 것
+- 지연시간은 히스토그램이 아니라 원본 값을 정렬 (p999 까지 정확하게), 실패한 실행은 errors 로만 셈
+
+실행:
+./gradlew loadTest -PloadTestArgs="--threads=1,16,128 --virtual --duration=20 --pool=10"
+
+옵션 (기본값):
+--threads=16  --virtual (없으면 플랫폼 쓰레드)  --duration=10  --warmup=3  --pool=10
+--mix=select:60,page:10,insert:15,update:15  --seed=1000  --truncate (없으면 비우지 않음)
+--host=localhost  --username=root  --password=root123414  --dbName=simpleDb__test
+*/
+public class LoadGenerator {
+    private static final String[] OPS = {"select", "page", "insert", "update"};
+
+    private final SimpleDb simpleDb;
+    private final boolean virtual;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final int[] weights = new int[OPS.length];
+    private final int weightSum;
+    // insert 로 늘어나는 최대 id (update/select 대상 범위)
+    private final AtomicLong maxId = new AtomicLong();
+
+    LoadGenerator(SimpleDb simpleDb, boolean virtual, long durationSeconds, long warmupSeconds, String mix) {
+        this.simpleDb = simpleDb;
+        this.virtual = virtual;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+
+        int sum = 0;
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            int index = Arrays.asList(OPS).indexOf(pair[0].trim());
+            if (index < 0 || pair.length != 2) {
+                throw new IllegalArgumentException("잘못된 mix 항목: " + part + " (사용 가능: " + Arrays.toString(OPS) + ")");
+            }
+            weights[index] = Integer.parseInt(pair[1].trim());
+            sum += weights[index];
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("mix 비율의 합은 1 이상이어야 합니다: " + mix);
+        }
+        this.weightSum = sum;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseOptions(args);
+
+        SimpleDb simpleDb = new SimpleDb(
+                options.getOrDefault("host", "localhost"),
+                options.getOrDefault("username", "root"),
+                options.getOrDefault("password", "root123414"),
+                options.getOrDefault("dbName", "simpleDb__test"));
+        int poolSize = Integer.parseInt(options.getOrDefault("pool", "10"));
+        simpleDb.setPoolSize(Math.min(2, poolSize), poolSize);
+
+        LoadGenerator generator = new LoadGenerator(simpleDb,
+                options.containsKey("virtual"),
+                Long.parseLong(options.getOrDefault("duration", "10")),
+                Long.parseLong(options.getOrDefault("warmup", "3")),
+                options.getOrDefault("mix", "select:60,page:10,insert:15,update:15"));
+
+        boolean leaked = false;
+        try {
+            generator.prepare(Integer.parseInt(options.getOrDefault("seed", "1000")), options.containsKey("truncate"));
+            for (String threads : options.getOrDefault("threads", "16").split(",")) {
+                Report report = generator.run(Integer.parseInt(threads.trim()));
+                report.print(System.out);
+                leaked |= report.activeConnections() > 0;
+            }
+        } finally {
+            simpleDb.shutdown();
+        }
+        if (leaked) {
+            System.exit(1);
+        }
+    }
+
+    // --key=value, --flag
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("옵션은 --key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    // 테이블 준비 + seed 건까지 입력 (truncate 면 먼저 비움)
+    void prepare(int seed, boolean truncate) {
+        simpleDb.run("""
+                CREATE TABLE IF NOT EXISTS article (
+                    id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                    PRIMARY KEY(id),
+                    createdDate DATETIME NOT NULL,
+                    modifiedDate DATETIME NOT NULL,
+                    title VARCHAR(100) NOT NULL,
+                    `body` TEXT NOT NULL,
+                    isBlind BIT(1) NOT NULL DEFAULT 0
+                )
+                """);
+        if (truncate) {
+            simpleDb.run("TRUNCATE article");
+        }
+
+        long existing = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+        Sql sql = simpleDb.genSql()
+                .append("INSERT INTO article (createdDate, modifiedDate, title, `body`, isBlind)")
+                .append("VALUES (NOW(), NOW(), ?, ?, ?)");
+        for (long i = existing + 1; i <= seed; i++) {
+            sql.addBatch("제목" + i, "내용" + i, false);
+        }
+        if (existing < seed) {
+            sql.insertBatch();
+        }
+        Long max = simpleDb.genSql().append("SELECT MAX(id) FROM article").selectLong();
+        maxId.set(max == null ? 0 : max);
+    }
+
+    /*
+    쓰레드 threads 개로 warmup + duration 동안 실행
+
+    - 각 쓰레드는 자기 Recorder 에만 기록 (쓰레드 간 공유 없음)
+    - 끝나면 모든 쓰레드를 join 한 뒤 풀 상태를 확인
+    */
+    Report run(int threads) throws InterruptedException {
+        simpleDb.getConnectionPool().resetPeakCount();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        Recorder[] recorders = new Recorder[threads];
+        List<Thread> workers = new ArrayList<>(threads);
+        Thread.Builder builder = virtual
+                ? Thread.ofVirtual().name("load-", 0)
+                : Thread.ofPlatform().name("load-", 0);
+        for (int i = 0; i < threads; i++) {
+            Recorder recorder = new Recorder();
+            recorders[i] = recorder;
+            workers.add(builder.start(() -> work(recorder, measureFrom, end)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        ConnectionPool pool = simpleDb.getConnectionPool();
+        return Report.of(threads, virtual, durationNanos, recorders,
+                pool.getActiveCount(), pool.getPeakCount(), pool.getMaxSize());
+    }
+
+    private void work(Recorder recorder, long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            int op = pick(random);
+            boolean success = true;
+            try {
+                execute(op, random);
+            } catch (RuntimeException e) {
+                success = false;
+            }
+            if (now >= measureFrom) {
+                recorder.record(op, System.nanoTime() - now, success);
+            }
+        }
+    }
+
+    private int pick(ThreadLocalRandom random) {
+        int value = random.nextInt(weightSum);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void execute(int op, ThreadLocalRandom random) {
+        long id = random.nextLong(1, Math.max(2, maxId.get() + 1));
+        switch (op) {
+            case 0 -> simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE id = ?", id)
+                    .selectRow(Article.class);
+            case 1 -> simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE id >= ?", id)
+                    .append("ORDER BY id")
+                    .append("LIMIT 20")
+                    .selectRows(Article.class);
+            case 2 -> {
+                long newId = simpleDb.genSql()
+                        .append("INSERT INTO article")
+                        .append("SET createdDate = NOW()")
+                        .append(", modifiedDate = NOW()")
+                        .append(", title = ?", "부하 제목")
+                        .append(", `body` = ?", "부하 내용")
+                        .insert();
+                maxId.accumulateAndGet(newId, Math::max);
+            }
+            default -> simpleDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "수정 제목 " + id)
+                    .append(", modifiedDate = NOW()")
+                    .append("WHERE id = ?", id)
+                    .update();
+        }
+    }
+
+    // 쓰레드 하나의 작업별 지연시간(나노초) 기록
+    private static final class Recorder {
+        private final long[][] latencies = new long[OPS.length][256];
+        private final int[] counts = new int[OPS.length];
+        private final long[] errors = new long[OPS.length];
+
+        void record(int op, long nanos, boolean success) {
+            if (!success) {
+                errors[op]++;
+                return;
+            }
+            if (counts[op] == latencies[op].length) {
+                latencies[op] = Arrays.copyOf(latencies[op], counts[op] * 2);
+            }
+            latencies[op][counts[op]++] = nanos;
+        }
+    }
+
+    // 작업 하나의 집계 결과
+    record OpStats(String op, long count, long errors, double opsPerSecond,
+                   long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        static OpStats of(String op, long[] sorted, long errors, long durationNanos) {
+            double seconds = durationNanos / 1_000_000_000.0;
+            return new OpStats(op, sorted.length, errors, sorted.length / seconds,
+                    percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 99.9),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(sorted.length * percentile / 100.0);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+
+    // 쓰레드 수 하나에 대한 실행 결과
+    record Report(int threads, boolean virtual, long durationNanos, List<OpStats> ops, OpStats total,
+                  int activeConnections, int peakConnections, int maxConnections) {
+        static Report of(int threads, boolean virtual, long durationNanos, Recorder[] recorders,
+                         int activeConnections, int peakConnections, int maxConnections) {
+            List<OpStats> ops = new ArrayList<>();
+            List<long[]> perOp = new ArrayList<>();
+            long allErrors = 0;
+            for (int op = 0; op < OPS.length; op++) {
+                int size = 0;
+                long errors = 0;
+                for (Recorder recorder : recorders) {
+                    size += recorder.counts[op];
+                    errors += recorder.errors[op];
+                }
+                if (size == 0 && errors == 0) {
+                    continue;
+                }
+                long[] merged = new long[size];
+                int offset = 0;
+                for (Recorder recorder : recorders) {
+                    System.arraycopy(recorder.latencies[op], 0, merged, offset, recorder.counts[op]);
+                    offset += recorder.counts[op];
+                }
+                Arrays.sort(merged);
+                ops.add(OpStats.of(OPS[op], merged, errors, durationNanos));
+
+                perOp.add(merged);
+                allErrors += errors;
+            }
+
+            long[] all = new long[perOp.stream().mapToInt(latencies -> latencies.length).sum()];
+            int offset = 0;
+            for (long[] latencies : perOp) {
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            Arrays.sort(all);
+            return new Report(threads, virtual, durationNanos, ops, OpStats.of("total", all, allErrors, durationNanos),
+                    activeConnections, peakConnections, maxConnections);
+        }
+
+        void print(PrintStream out) {
+            out.printf("%n== threads=%d (%s), duration=%ds ==%n", threads, virtual ? "virtual" : "platform",
+                    TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+            out.printf("%-8s %10s %12s %10s %10s %10s %10s %8s%n",
+                    "op", "count", "ops/sec", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+            for (OpStats stats : ops) {
+                printRow(out, stats);
+            }
+            printRow(out, total);
+            out.printf("pool: peak=%d/%d, active=%d%n", peakConnections, maxConnections, activeConnections);
+            if (activeConnections > 0) {
+                out.printf("connection 누수: 모든 쓰레드가 끝났는데 %d개가 반납되지 않았습니다%n", activeConnections);
+            }
+        }
+
+        private static void printRow(PrintStream out, OpStats stats) {
+            out.printf("%-8s %10d %12.1f %10.3f %10.3f %10.3f %10.3f %8d%n", stats.op(), stats.count(), stats.opsPerSecond(),
+                    stats.p50Nanos() / 1e6, stats.p99Nanos() / 1e6, stats.p999Nanos() / 1e6, stats.maxNanos() / 1e6,
+                    stats.errors());
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package com.back.simpleDb;
 
 import com.back.Article;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class SimpleDbTest {
@@ -534,4 +546,918 @@ public class SimpleDbTest {
 
         assertThat(newCount).isEqualTo(oldCount + 1);
     }
+
+    @Test
+    @DisplayName("use in virtual threads, bounded connections")
+    public void t020() throws IOException {
+        // 가상 쓰레드 수
+        int numberOfThreads = 10_000;
+
+        AtomicInteger successCounter = new AtomicInteger(0);
+
+        // 실행 중 carrier 쓰레드 pin 이 있었는지 JFR 로 기록합니다.
+        Path file = Files.createTempFile("simpleDb-pinned", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+
+            // 작업마다 가상 쓰레드를 하나씩 생성하고, close() 에서 모든 작업이 끝날 때까지 대기합니다.
+            try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < numberOfThreads; i++) {
+                    executorService.submit(() -> {
+                        long count = simpleDb.genSql()
+                                .append("SELECT COUNT(*)")
+                                .append("FROM article")
+                                .selectLong();
+
+                        if (count == 6) {
+                            successCounter.incrementAndGet();
+                        }
+                    });
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        ConnectionPool pool = simpleDb.getConnectionPool();
+
+        assertThat(successCounter.get()).isEqualTo(numberOfThreads);
+        // 물리 connection 수는 쓰레드 수가 아니라 풀 크기를 따라야 합니다.
+        assertThat(pool.getPeakCount()).isLessThanOrEqualTo(pool.getMaxSize());
+        // 모든 connection 이 반납되어야 합니다.
+        assertThat(pool.getActiveCount()).isZero();
+        // 풀 대기(ReentrantLock)와 JDBC 실행 중에 carrier 쓰레드가 pin 되면 안 됩니다.
+        assertThat(pinned).isEmpty();
+    }
+
+    @Test
+    @DisplayName("statement cache")
+    public void t021() {
+        long oldHits = simpleDb.getStatementCacheStats().hits();
+
+        // 같은 SQL 을 반복 실행하면 connection 별 캐시에 있는 statement 를 재사용합니다.
+        for (int i = 0; i < 3; i++) {
+            simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .selectLong();
+        }
+
+        assertThat(simpleDb.getStatementCacheStats().hits()).isGreaterThan(oldHits);
+    }
+
+    @Test
+    @DisplayName("insertBatch")
+    public void t022() {
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        INSERT INTO article (createdDate, modifiedDate, title, body)
+        VALUES (NOW(), NOW(), '제목 batch1', '내용 batch1'), ...
+        */
+        sql.append("INSERT INTO article (createdDate, modifiedDate, title, body)")
+                .append("VALUES (NOW(), NOW(), ?, ?)")
+                .setBatchSize(2);
+
+        IntStream.rangeClosed(1, 5).forEach(no ->
+                sql.addBatch("제목 batch%d".formatted(no), "내용 batch%d".formatted(no))
+        );
+
+        // 2개씩 나눠 실행되어도 생성된 주키 5개가 순서대로 리턴됩니다.
+        long[] newIds = sql.insertBatch();
+
+        assertThat(newIds).containsExactly(7, 8, 9, 10, 11);
+    }
+
+    @Test
+    @DisplayName("selectStream, Article")
+    public void t023() {
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        SELECT *
+        FROM article
+        ORDER BY id ASC
+        */
+        sql.append("SELECT * FROM article ORDER BY id ASC");
+
+        // 스트림을 닫으면 statement 와 connection 이 정리됩니다.
+        try (Stream<Article> articles = sql.selectStream(Article.class)) {
+            List<Long> ids = articles.map(Article::getId).toList();
+
+            assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        }
+
+        assertThat(simpleDb.getConnectionPool().getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("selectLongArray")
+    public void t024() {
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        SELECT id
+        FROM article
+        WHERE isBlind = 0
+        ORDER BY id DESC
+        */
+        sql.append("SELECT id")
+                .append("FROM article")
+                .append("WHERE isBlind = ?", false)
+                .append("ORDER BY id DESC");
+
+        long[] ids = sql.selectLongArray();
+
+        assertThat(ids).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    @DisplayName("query cache, 쓰기 시 무효화")
+    public void t025() {
+        simpleDb.enableQueryCache(100, 60_000);
+        try {
+            Long count = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+            Long cachedCount = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+
+            assertThat(count).isEqualTo(6);
+            assertThat(cachedCount).isEqualTo(6);
+            assertThat(simpleDb.getQueryCacheStats().hits()).isEqualTo(1);
+
+            simpleDb.genSql()
+                    .append("DELETE FROM article")
+                    .append("WHERE id = ?", 1)
+                    .delete();
+
+            Long newCount = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+
+            assertThat(newCount).isEqualTo(5);
+        } finally {
+            simpleDb.disableQueryCache();
+        }
+    }
+
+    @Test
+    @DisplayName("entity cache, id 로 update 시 제거")
+    public void t026() {
+        simpleDb.enableEntityCache(100);
+        try {
+            Article article = simpleDb.genSql().append("SELECT * FROM article").append("WHERE id = ?", 1L).selectRow(Article.class);
+            Article cachedArticle = simpleDb.genSql().append("SELECT * FROM article").append("WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(cachedArticle.getTitle()).isEqualTo(article.getTitle());
+            assertThat(simpleDb.getEntityCacheStats().hits()).isEqualTo(1);
+
+            simpleDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "수정된 제목")
+                    .append("WHERE id = ?", 1L)
+                    .update();
+
+            Article updatedArticle = simpleDb.genSql().append("SELECT * FROM article").append("WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(updatedArticle.getTitle()).isEqualTo("수정된 제목");
+        } finally {
+            simpleDb.disableEntityCache();
+        }
+    }
+
+    @Test
+    @DisplayName("selectLongAsync, selectRowsAsync")
+    public void t027() {
+        CompletableFuture<Long> count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .selectLongAsync();
+        CompletableFuture<List<Article>> articles = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .append("WHERE isBlind = ?", false)
+                .append("ORDER BY id ASC")
+                .selectRowsAsync(Article.class);
+
+        assertThat(count.join()).isEqualTo(6);
+        assertThat(articles.join()).extracting(Article::getId).containsExactly(1L, 2L, 3L);
+        assertThat(simpleDb.getConnectionPool().getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("metrics, SQL 템플릿별 집계")
+    public void t028() {
+        simpleDb.resetMetrics();
+
+        for (long id = 1; id <= 3; id++) {
+            simpleDb.genSql()
+                    .append("SELECT title FROM article")
+                    .append("WHERE id = ?", id)
+                    .selectString();
+        }
+
+        SqlMetrics.TemplateStats stats = simpleDb.getMetricsSnapshot().get("SELECT title FROM article WHERE id = ?");
+
+        assertThat(stats.calls()).isEqualTo(3);
+        assertThat(stats.errors()).isZero();
+        assertThat(stats.rows()).isEqualTo(3);
+        assertThat(stats.execute().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("JFR Query 이벤트")
+    public void t029() throws IOException {
+        Path file = Files.createTempFile("simpleDb", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.back.simpleDb.Query");
+            recording.start();
+
+            simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .selectLong();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> "SELECT COUNT(*) FROM article".equals(event.getString("sql")))
+                .toList();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getLong("rows")).isEqualTo(1);
+        assertThat(events.get(0).getBoolean("success")).isTrue();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("slow query log")
+    public void t030() throws IOException {
+        Path file = Files.createTempFile("slow-query", ".log");
+        simpleDb.enableSlowQueryLog(file, 0).setRedactParameters(true);
+
+        simpleDb.genSql()
+                .append("SELECT title FROM article")
+                .append("WHERE id = ?", 1)
+                .selectString();
+
+        // 남은 로그를 모두 기록하고 writer 종료
+        simpleDb.disableSlowQueryLog();
+
+        List<String> lines = Files.readAllLines(file);
+
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .contains("sql=\"SELECT title FROM article WHERE id = ?\"")
+                .contains("params=[REDACTED x1]")
+                .contains("origin=com.back.simpleDb.SimpleDbTest.t030");
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("explain capture, 인덱스 없는 조건은 FULL_SCAN")
+    public void t031() throws InterruptedException {
+        simpleDb.enableExplainCapture(0, 60_000);
+        try {
+            simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE title = ?", "제목1")
+                    .selectRows();
+
+            // EXPLAIN 은 백그라운드에서 실행되므로 결과가 생길 때까지 대기
+            List<ExplainCapture.Finding> findings = simpleDb.getExplainFindings();
+            for (int i = 0; i < 50 && findings.isEmpty(); i++) {
+                Thread.sleep(100);
+                findings = simpleDb.getExplainFindings();
+            }
+
+            assertThat(findings).hasSize(1);
+            assertThat(findings.get(0).template()).isEqualTo("SELECT * FROM article WHERE title = ?");
+            assertThat(findings.get(0).issues()).contains(ExplainCapture.Issue.FULL_SCAN);
+        } finally {
+            simpleDb.disableExplainCapture();
+        }
+    }
+
+    @Test
+    @DisplayName("prepared query, 위치/이름 파라미터")
+    public void t032() {
+        PreparedQuery byId = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .append("WHERE id = :id")
+                .prepare();
+
+        assertThat(byId.getSql()).isEqualTo("SELECT * FROM article WHERE id = ?");
+        assertThat(byId.getParameterNames()).containsExactly("id");
+
+        // 같은 템플릿을 값만 바꿔 여러 번 실행
+        for (long id = 1; id <= 3; id++) {
+            Article article = byId.bind(Map.of("id", id)).selectRow(Article.class);
+            assertThat(article.getId()).isEqualTo(id);
+        }
+
+        PreparedQuery count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .append("WHERE id BETWEEN ? AND ?")
+                .prepare();
+
+        assertThat(count.bind(1, 3).selectLong()).isEqualTo(3);
+        assertThat(count.bind(2, 6).selectLong()).isEqualTo(5);
+
+        // 같은 이름을 여러 번 사용
+        PreparedQuery rename = simpleDb.genSql()
+                .append("UPDATE article")
+                .append("SET title = :title")
+                .append("WHERE id = :id AND title <> :title")
+                .prepare();
+
+        assertThat(rename.bind(Map.of("title", "새 제목", "id", 1)).update()).isEqualTo(1);
+        assertThat(rename.bind(Map.of("title", "새 제목", "id", 1)).update()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("appendIn, 큰 IN 목록은 chunk 로 나눠 실행")
+    public void t033() {
+        simpleDb.setInListChunking(2, false);
+        try {
+            List<Article> articles = simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .appendIn("WHERE id IN (?)", 1, 2, 3, 4, 5)
+                    .selectRows(Article.class);
+
+            assertThat(articles).extracting(Article::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+
+            // chunk 를 동시에 실행해도 결과는 같아야 합니다.
+            simpleDb.setInListChunking(2, true);
+            List<Long> ids = simpleDb.genSql()
+                    .append("SELECT id")
+                    .append("FROM article")
+                    .appendIn("WHERE id IN (?)", 6, 5, 4)
+                    .selectLongs();
+
+            assertThat(ids).containsExactlyInAnyOrder(4L, 5L, 6L);
+
+            int affectedRowsCount = simpleDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "새 제목")
+                    .appendIn("WHERE id IN (?)", 1, 2, 3, 4, 5)
+                    .update();
+
+            assertThat(affectedRowsCount).isEqualTo(5);
+
+            // ORDER BY 가 있으면 나누지 않고 한 번에 실행합니다.
+            List<Long> orderedIds = simpleDb.genSql()
+                    .append("SELECT id")
+                    .append("FROM article")
+                    .appendIn("WHERE id IN (?)", 3, 1, 2)
+                    .append("ORDER BY id DESC")
+                    .selectLongs();
+
+            assertThat(orderedIds).containsExactly(3L, 2L, 1L);
+
+            // NOT IN, OR, 서브쿼리 안의 IN 은 나누면 결과가 달라지므로 한 번에 실행합니다.
+            assertThat(simpleDb.genSql()
+                    .append("SELECT id FROM article")
+                    .appendIn("WHERE id NOT IN (?)", 1, 2, 3)
+                    .selectLongs()).containsExactlyInAnyOrder(4L, 5L, 6L);
+
+            assertThat(simpleDb.genSql()
+                    .append("SELECT id FROM article")
+                    .appendIn("WHERE id = 6 OR id IN (?)", 1, 2, 3)
+                    .selectLongs()).containsExactlyInAnyOrder(1L, 2L, 3L, 6L);
+
+            assertThat(simpleDb.genSql()
+                    .append("SELECT id FROM article")
+                    .append("WHERE id NOT IN (SELECT id FROM article")
+                    .appendIn("WHERE id IN (?))", 1, 2, 3)
+                    .selectLongs()).containsExactlyInAnyOrder(4L, 5L, 6L);
+
+            assertThat(simpleDb.genSql()
+                    .append("DELETE FROM article")
+                    .appendIn("WHERE id NOT IN (?)", 1, 2, 3, 4, 5)
+                    .delete()).isEqualTo(1);
+
+            // 중복 값이 여러 chunk 에 나뉘어도 행은 한 번만
+            assertThat(simpleDb.genSql()
+                    .append("SELECT id FROM article")
+                    .appendIn("WHERE id IN (?)", 1, 2, 1, 3, 1)
+                    .selectLongs()).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+            // JOIN ... ON 조건의 IN 은 나누면 chunk 마다 바깥 행이 다시 나오므로 한 번에 실행합니다.
+            assertThat(simpleDb.genSql()
+                    .append("SELECT a.id FROM article a")
+                    .append("LEFT JOIN article b")
+                    .appendIn("ON b.id = a.id AND b.id IN (?)", 1, 2, 3)
+                    .selectLongs()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        } finally {
+            simpleDb.setInListChunking(1024, false);
+        }
+    }
+
+    @Test
+    @DisplayName("read/write splitting, 조회는 replica 로")
+    public void t034() {
+        // 로컬에서는 같은 MySQL 을 replica 로 등록해서 라우팅만 확인합니다.
+        SimpleDb splitDb = new SimpleDb("localhost", "root", "root123414", "simpleDb__test");
+        splitDb.addReplica("localhost", 3306);
+        splitDb.addReplica("localhost", 3306);
+
+        try {
+            ConnectionPool primary = splitDb.getConnectionPool();
+            List<ConnectionPool> replicas = splitDb.getReplicaPools();
+
+            for (int i = 0; i < 4; i++) {
+                long count = splitDb.genSql()
+                        .append("SELECT COUNT(*)")
+                        .append("FROM article")
+                        .selectLong();
+
+                assertThat(count).isEqualTo(6);
+            }
+
+            // round-robin: replica 마다 2번씩, primary 는 사용하지 않음
+            assertThat(replicas).allSatisfy(replica -> assertThat(statementUses(replica)).isEqualTo(2));
+            assertThat(statementUses(primary)).isZero();
+
+            // 쓰기는 primary
+            splitDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "새 제목")
+                    .append("WHERE id = ?", 1)
+                    .update();
+
+            assertThat(statementUses(primary)).isEqualTo(1);
+
+            // 트랜잭션 안의 조회는 primary
+            splitDb.transaction(() -> splitDb.genSql()
+                    .append("SELECT title FROM article")
+                    .append("WHERE id = ?", 1)
+                    .selectString());
+
+            assertThat(statementUses(primary)).isEqualTo(2);
+
+            // read-your-writes: 쓰기 직후 같은 쓰레드의 조회는 primary
+            splitDb.setReadYourWrites(60_000);
+            splitDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "새 제목2")
+                    .append("WHERE id = ?", 1)
+                    .update();
+            String title = splitDb.genSql()
+                    .append("SELECT title FROM article")
+                    .append("WHERE id = ?", 1)
+                    .selectString();
+
+            assertThat(title).isEqualTo("새 제목2");
+            assertThat(statementUses(primary)).isEqualTo(4);
+            assertThat(replicas).allSatisfy(replica -> assertThat(statementUses(replica)).isEqualTo(2));
+        } finally {
+            splitDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("샤딩, 샤드 키 라우팅과 scatter-gather 조회")
+    public void t035() {
+        List<SimpleDb> shards = IntStream.range(0, 2).mapToObj(no -> {
+            simpleDb.run("CREATE DATABASE IF NOT EXISTS simpleDb__shard" + no);
+            SimpleDb shard = new SimpleDb("localhost", "root", "root123414", "simpleDb__shard" + no);
+            shard.run("DROP TABLE IF EXISTS article");
+            shard.run("CREATE TABLE article LIKE simpleDb__test.article");
+            return shard;
+        }).toList();
+        ShardedSimpleDb shardedDb = new ShardedSimpleDb(shards);
+
+        try {
+            // id % 2 로 샤드 결정 (AUTO_INCREMENT 대신 id 를 직접 넣음)
+            for (long id = 1; id <= 6; id++) {
+                shardedDb.genSql(id)
+                        .append("INSERT INTO article")
+                        .append("SET id = ?,", id)
+                        .append("createdDate = NOW(),")
+                        .append("modifiedDate = NOW(),")
+                        .append("title = ?,", "제목" + id)
+                        .append("`body` = ?", "내용" + id)
+                        .insert();
+            }
+
+            assertThat(shardedDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(6);
+            assertThat(shards).allSatisfy(shard ->
+                    assertThat(shard.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(3));
+
+            // 샤드별 결과를 ORDER BY 기준으로 합친 뒤 LIMIT
+            List<Article> articles = shardedDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("ORDER BY id DESC")
+                    .append("LIMIT 4")
+                    .selectRows(Article.class);
+
+            assertThat(articles).extracting(Article::getId).containsExactly(6L, 5L, 4L, 3L);
+
+            List<Map<String, Object>> rows = shardedDb.genSql()
+                    .append("SELECT id FROM article")
+                    .append("ORDER BY id")
+                    .append("LIMIT 2 OFFSET 1")
+                    .selectRows();
+
+            assertThat(rows).extracting(row -> ((Number) row.get("id")).longValue()).containsExactly(2L, 3L);
+
+            // 샤드 키로 한 샤드만 조회
+            String title = shardedDb.genSql(5L)
+                    .append("SELECT title FROM article")
+                    .append("WHERE id = ?", 5)
+                    .selectString();
+
+            assertThat(title).isEqualTo("제목5");
+
+            // 전체 UPDATE 는 샤드별 결과 합계
+            int affected = shardedDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET isBlind = ?", true)
+                    .append("WHERE id > ?", 3)
+                    .update();
+
+            assertThat(affected).isEqualTo(3);
+
+            // 서브쿼리 안의 ORDER BY 는 건너뛰고 바깥 ORDER BY 로 병합
+            List<Map<String, Object>> outerOrdered = shardedDb.genSql()
+                    .append("SELECT id FROM article")
+                    .append("WHERE id IN (SELECT id FROM (SELECT id FROM article ORDER BY id LIMIT 10) t)")
+                    .append("ORDER BY id DESC")
+                    .append("LIMIT 2")
+                    .selectRows();
+
+            assertThat(outerOrdered).extracting(row -> ((Number) row.get("id")).longValue()).containsExactly(6L, 5L);
+
+            // 병합할 수 없는 SQL 은 샤드 수만큼 부풀거나 틀린 결과 대신 예외
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT * FROM article LIMIT ?", 2)
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT * FROM article ORDER BY id LIMIT 2 FOR UPDATE")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT id FROM article ORDER BY title")
+                    .selectLongs())
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT COUNT(DISTINCT isBlind) FROM article")
+                    .selectLong())
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT MAX(id) + 1 FROM article")
+                    .selectLong())
+                    .isInstanceOf(IllegalStateException.class);
+
+            assertThat(shardedDb.genSql().append("SELECT id FROM article ORDER BY id DESC").selectLongs())
+                    .containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+
+            // 샤드마다 따로 묶거나 중복을 없앤 결과는 이어붙일 수 없으므로 예외 (집계 값은 selectLong)
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT COUNT(*) AS cnt FROM article")
+                    .selectRow())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT DISTINCT isBlind FROM article")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT isBlind FROM article GROUP BY isBlind")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS no FROM article")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            // ORDER BY 는 대소문자와 상관없이 조회한 컬럼에 맞춰 정렬, 조회하지 않은 컬럼이면 예외
+            assertThat(shardedDb.genSql().append("SELECT id FROM article ORDER BY ID DESC").selectRows())
+                    .extracting(row -> ((Number) row.get("id")).longValue())
+                    .containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+            assertThat(shardedDb.genSql().append("SELECT * FROM article ORDER BY ID DESC").selectRows(Article.class))
+                    .extracting(Article::getId)
+                    .containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+            assertThatThrownBy(() -> shardedDb.genSql()
+                    .append("SELECT title FROM article ORDER BY id")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(shardedDb.genSql().append("SELECT MAX(id) AS maxId FROM article").selectLong()).isEqualTo(6);
+        } finally {
+            shardedDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("group commit, 동시 쓰기를 묶어서 커밋하고 각자 결과 반환")
+    public void t036() {
+        simpleDb.enableGroupCommit(5_000, 64);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Long>> inserts = IntStream.rangeClosed(1, 20)
+                    .mapToObj(no -> CompletableFuture.supplyAsync(() -> simpleDb.genSql()
+                            .append("INSERT INTO article")
+                            .append("SET createdDate = NOW(),")
+                            .append("modifiedDate = NOW(),")
+                            .append("title = ?,", "묶음 제목" + no)
+                            .append("`body` = ?", "묶음 내용" + no)
+                            .insert(), executor))
+                    .toList();
+
+            // id = 1 은 테스트 데이터에 이미 있으므로 실행 순서와 상관없이 PK 중복
+            // → 그 호출만 실패하고 같은 그룹의 나머지는 따로 실행되어 성공
+            CompletableFuture<Long> duplicate = CompletableFuture.supplyAsync(() -> simpleDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET id = ?,", 1)
+                    .append("createdDate = NOW(),")
+                    .append("modifiedDate = NOW(),")
+                    .append("title = ?,", "중복")
+                    .append("`body` = ?", "중복")
+                    .insert(), executor);
+
+            List<Long> ids = inserts.stream().map(CompletableFuture::join).toList();
+
+            assertThat(ids).doesNotHaveDuplicates().allSatisfy(id -> assertThat(id).isGreaterThan(6));
+            assertThat(duplicate).failsWithin(5, TimeUnit.SECONDS);
+        } finally {
+            GroupCommitter.Stats stats = simpleDb.getGroupCommitStats();
+            simpleDb.disableGroupCommit();
+
+            assertThat(stats.groupedStatements() + stats.singles() + stats.fallbacks()).isGreaterThanOrEqualTo(20);
+        }
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*) FROM article")
+                .selectLong();
+
+        assertThat(count).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("write-behind, insertLater 로 넣은 행을 배치로 기록하고 close() 에서 flush")
+    public void t037() {
+        simpleDb.enableWriteBehind(100, 10, 50, WriteBehindBuffer.OverflowPolicy.BLOCK);
+
+        try {
+            for (int no = 1; no <= 25; no++) {
+                boolean accepted = simpleDb.genSql()
+                        .append("INSERT INTO article (createdDate, modifiedDate, title, `body`)")
+                        .append("VALUES (NOW(), NOW(), ?, ?)", "나중 제목" + no, "나중 내용" + no)
+                        .insertLater();
+
+                assertThat(accepted).isTrue();
+            }
+
+            // close() 는 그때까지 넣은 행을 모두 기록한 뒤 반환
+            simpleDb.close();
+
+            long count = simpleDb.genSql()
+                    .append("SELECT COUNT(*) FROM article")
+                    .selectLong();
+
+            assertThat(count).isEqualTo(31);
+
+            WriteBehindBuffer.Stats stats = simpleDb.getWriteBehindStats();
+
+            assertThat(stats.queueDepth()).isZero();
+            assertThat(stats.enqueued()).isEqualTo(25);
+            assertThat(stats.flushedRows()).isEqualTo(25);
+            assertThat(stats.flushes()).isGreaterThanOrEqualTo(3);
+
+            // 배치에 잘못된 행(PK 중복)이 섞여도 그 행만 버리고 나머지는 기록
+            for (long id : new long[]{101, 1, 102}) {
+                simpleDb.genSql()
+                        .append("INSERT INTO article (id, createdDate, modifiedDate, title, `body`)")
+                        .append("VALUES (?, NOW(), NOW(), ?, ?)", id, "나중 제목" + id, "나중 내용" + id)
+                        .insertLater();
+            }
+            simpleDb.flushWriteBehind();
+
+            stats = simpleDb.getWriteBehindStats();
+
+            assertThat(stats.flushedRows()).isEqualTo(27);
+            assertThat(stats.failedRows()).isEqualTo(1);
+            assertThat(simpleDb.getWriteBehind().getLastFailure()).isNotNull();
+            assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(33);
+        } finally {
+            simpleDb.disableWriteBehind();
+        }
+    }
+
+    @Test
+    @DisplayName("단일 값 조회의 타입 변환 규칙")
+    public void t038() {
+        // 숫자가 아닌 값은 null
+        Long notNumber = simpleDb.genSql()
+                .append("SELECT title FROM article")
+                .append("WHERE id = ?", 1)
+                .selectLong();
+
+        assertThat(notNumber).isNull();
+
+        // 1 만 true, 그 외 숫자는 false
+        assertThat(simpleDb.genSql().append("SELECT 1").selectBoolean()).isTrue();
+        assertThat(simpleDb.genSql().append("SELECT 2").selectBoolean()).isFalse();
+        assertThat(simpleDb.genSql().append("SELECT 'abc'").selectBoolean()).isNull();
+
+        // 문자열은 getObject() 값의 toString()
+        LocalDateTime createdDate = simpleDb.genSql()
+                .append("SELECT createdDate FROM article")
+                .append("WHERE id = ?", 1)
+                .selectDatetime();
+        String createdDateText = simpleDb.genSql()
+                .append("SELECT createdDate FROM article")
+                .append("WHERE id = ?", 1)
+                .selectString();
+
+        assertThat(createdDateText).isEqualTo(createdDate.toString());
+
+        // NULL 은 건너뜀
+        List<Long> values = simpleDb.genSql()
+                .append("SELECT IF(id <= 2, id, NULL) FROM article")
+                .append("ORDER BY id")
+                .selectLongs();
+
+        assertThat(values).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("selectColumnar, 컬럼 단위 조회")
+    public void t039() {
+        ColumnarResult result = simpleDb.genSql()
+                .append("SELECT id, isBlind, createdDate,")
+                .append("IF(id % 2 = 1, '홀수', '짝수') AS parity,")
+                .append("IF(id > 5, NULL, title) AS nullableTitle")
+                .append("FROM article")
+                .append("ORDER BY id")
+                .selectColumnar();
+
+        assertThat(result.rowCount()).isEqualTo(6);
+        assertThat(result.type("id")).isEqualTo(ColumnarResult.ColumnType.LONG);
+        assertThat(result.type("isBlind")).isEqualTo(ColumnarResult.ColumnType.BOOLEAN);
+        assertThat(result.type("createdDate")).isEqualTo(ColumnarResult.ColumnType.DATETIME);
+        assertThat(result.type("parity")).isEqualTo(ColumnarResult.ColumnType.STRING);
+
+        assertThat(result.longs("id")).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(result.booleans("isBlind")).containsExactly(false, false, false, true, true, true);
+
+        // 반복되는 문자열은 사전에 한 번만, 행은 코드로
+        assertThat(result.dictionary("parity")).containsExactly("홀수", "짝수");
+        assertThat(result.codes("parity")).containsExactly(0, 1, 0, 1, 0, 1);
+
+        // NULL 은 BitSet 에 표시, 코드는 -1
+        assertThat(result.nulls("nullableTitle").cardinality()).isEqualTo(1);
+        assertThat(result.isNull("nullableTitle", 5)).isTrue();
+        assertThat(result.codes("nullableTitle")[5]).isEqualTo(-1);
+        assertThat(result.get(5, "nullableTitle")).isNull();
+        assertThat(result.row(0).getString("nullableTitle")).isEqualTo("제목1");
+
+        // DATETIME 은 epoch millis 로 저장했다가 LocalDateTime 으로 그대로 복원
+        LocalDateTime createdDate = simpleDb.genSql()
+                .append("SELECT createdDate FROM article")
+                .append("WHERE id = ?", 1)
+                .selectDatetime();
+
+        assertThat(result.row(0).getDatetime("createdDate")).isEqualTo(createdDate);
+        assertThat(result.epochMillis("createdDate")[0])
+                .isEqualTo(createdDate.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("QueryListener: 실행한 SQL 과 트랜잭션 이벤트를 출력 대신 hook 으로 받음")
+    public void t040() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        simpleDb.setQueryListener(new QueryListener() {
+            @Override
+            public void onQuery(String sql, List<Object> params, long elapsedNanos, long rows, boolean success) {
+                events.add(sql + " " + params + " " + rows + " " + success);
+            }
+
+            @Override
+            public void onTransaction(String event) {
+                events.add(event);
+            }
+        });
+
+        try {
+            simpleDb.transaction(() -> simpleDb.genSql()
+                    .append("UPDATE article SET title = title WHERE id = ?", 1)
+                    .update());
+            simpleDb.genSql().append("SELECT COUNT(*) FROM article WHERE id > ?", 2).selectLong();
+        } finally {
+            simpleDb.setQueryListener(null);
+        }
+
+        assertThat(events).containsExactly(
+                "start",
+                "UPDATE article SET title = title WHERE id = ? [1] 1 true",
+                "commit",
+                "SELECT COUNT(*) FROM article WHERE id > ? [2] 1 true"
+        );
+    }
+
+    @Test
+    @DisplayName("slow query log: 파일 기록 실패는 출력 대신 횟수와 원인으로 남김")
+    public void t041() throws IOException {
+        // 디렉터리는 파일로 열 수 없으므로 기록 실패
+        Path directory = Files.createTempDirectory("slow-query");
+        SlowQueryLog log = simpleDb.enableSlowQueryLog(directory, 0);
+
+        simpleDb.genSql().append("SELECT title FROM article WHERE id = ?", 1).selectString();
+        simpleDb.genSql().append("SELECT title FROM article WHERE id = ?", 2).selectString();
+        simpleDb.disableSlowQueryLog();
+
+        assertThat(log.getWrittenCount()).isZero();
+        assertThat(log.getWriteFailureCount()).isEqualTo(2);
+        assertThat(log.getLastWriteFailure()).isNotNull();
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    @DisplayName("replica 에서 읽은 결과는 결과 캐시/엔티티 캐시에 넣지 않음")
+    public void t042() {
+        SimpleDb splitDb = new SimpleDb("localhost", "root", "root123414", "simpleDb__test");
+        splitDb.addReplica("localhost", 3306);
+        splitDb.enableQueryCache(100, 60_000);
+        splitDb.enableEntityCache(100);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                assertThat(splitDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(6);
+                assertThat(splitDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class))
+                        .isNotNull();
+            }
+
+            // 매번 replica 에서 다시 읽음
+            assertThat(statementUses(splitDb.getReplicaPools().get(0))).isEqualTo(4);
+            assertThat(splitDb.getQueryCacheStats().hits()).isZero();
+            assertThat(splitDb.getQueryCacheStats().size()).isZero();
+            assertThat(splitDb.getEntityCacheStats().size()).isZero();
+
+            // replica 가 없으면 primary 에서 읽으므로 저장됨
+            SimpleDb primaryDb = new SimpleDb("localhost", "root", "root123414", "simpleDb__test");
+            primaryDb.enableQueryCache(100, 60_000);
+            try {
+                primaryDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+                primaryDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+                assertThat(primaryDb.getQueryCacheStats().hits()).isEqualTo(1);
+            } finally {
+                primaryDb.shutdown();
+            }
+        } finally {
+            splitDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("entity cache, 같은 id 라도 테이블이 다르면 따로 저장/제거")
+    public void t043() {
+        simpleDb.run("DROP TABLE IF EXISTS article_archive");
+        simpleDb.run("CREATE TABLE article_archive LIKE article");
+        simpleDb.genSql()
+                .append("INSERT INTO article_archive")
+                .append("SET id = ?,", 1L)
+                .append("createdDate = NOW(),")
+                .append("modifiedDate = NOW(),")
+                .append("title = ?,", "보관된 제목")
+                .append("`body` = ?", "보관된 내용")
+                .insert();
+        simpleDb.enableEntityCache(100);
+
+        try {
+            Article article = simpleDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+            Article archived = simpleDb.genSql().append("SELECT * FROM article_archive WHERE id = ?", 1L).selectRow(Article.class);
+
+            // article 의 캐시 항목을 article_archive 조회에 돌려주지 않음
+            assertThat(archived.getTitle()).isEqualTo("보관된 제목");
+            assertThat(simpleDb.getEntityCacheStats().hits()).isZero();
+
+            // article_archive 수정은 article 의 캐시 항목을 제거하지 않음
+            simpleDb.genSql()
+                    .append("UPDATE article_archive")
+                    .append("SET title = ?", "수정된 보관 제목")
+                    .append("WHERE id = ?", 1L)
+                    .update();
+
+            Article cachedArticle = simpleDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+            Article updatedArchived = simpleDb.genSql().append("SELECT * FROM article_archive WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(cachedArticle.getTitle()).isEqualTo(article.getTitle());
+            assertThat(updatedArchived.getTitle()).isEqualTo("수정된 보관 제목");
+            assertThat(simpleDb.getEntityCacheStats().hits()).isEqualTo(1);
+        } finally {
+            simpleDb.disableEntityCache();
+            simpleDb.run("DROP TABLE IF EXISTS article_archive");
+        }
+    }
+
+    // 풀의 statement 캐시 조회 횟수 = 그 풀에서 실행된 SQL 수
+    private static long statementUses(ConnectionPool pool) {
+        StatementCache.Stats stats = pool.getStatementCacheStats();
+        return stats.hits() + stats.misses();
+    }
 }
\ No newline at end of file